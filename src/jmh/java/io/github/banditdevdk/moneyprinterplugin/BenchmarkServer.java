@@ -0,0 +1,131 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.WorldMock;
+import net.milkbowl.vault.economy.Economy;
+import net.milkbowl.vault.economy.EconomyResponse;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.ServicePriority;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Headless MockBukkit server with the plugin loaded, shared by benchmarks and harnesses
+ */
+final class BenchmarkServer {
+    final ServerMock server;
+    final MoneyPrinterPlugin plugin;
+    final WorldMock world;
+    final List<Location> printerLocations = new ArrayList<>();
+    final List<UUID> owners = new ArrayList<>();
+
+    private BenchmarkServer(ServerMock server, MoneyPrinterPlugin plugin, WorldMock world) {
+        this.server = server;
+        this.plugin = plugin;
+        this.world = world;
+    }
+
+    /**
+     * Boot a mock server with a stub Vault economy and load the plugin
+     */
+    static BenchmarkServer start() {
+        ServerMock server = MockBukkit.mock();
+        WorldMock world = server.addSimpleWorld("world");
+
+        Plugin vault = MockBukkit.createMockPlugin("Vault");
+        server.getServicesManager().register(Economy.class, createEconomy(), vault, ServicePriority.Normal);
+
+        MoneyPrinterPlugin plugin = MockBukkit.load(MoneyPrinterPlugin.class);
+
+        // MockBukkit can't spawn display entities, so keep holograms out of the measurements
+        FileConfiguration config = plugin.getConfigManager().getConfig();
+        config.set("holograms.enabled", false);
+        // Simulated players click far faster than people; measure the click path, not the limiter
+        config.set("gui.click-limit.burst", Integer.MAX_VALUE);
+        config.set("gui.click-limit.per-second", 1_000_000.0);
+        config.set("gui.click-limit.debounce-ms", 0);
+        try {
+            config.save(new File(plugin.getDataFolder(), "config.yml"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        plugin.getConfigManager().reload();
+        return new BenchmarkServer(server, plugin, world);
+    }
+
+    /**
+     * Place printers on a grid, one owner per printersPerOwner printers.
+     * Tier and fuel are picked from a fixed seed so runs are reproducible.
+     */
+    void populate(int count, int printersPerOwner, long seed) {
+        Random random = new Random(seed);
+        int highestTier = plugin.getConfigManager().getHighestTier();
+        int maxFuel = plugin.getConfigManager().getMaxFuelMinutes() * 60;
+        int side = (int) Math.ceil(Math.sqrt(count));
+
+        UUID owner = null;
+        for (int i = 0; i < count; i++) {
+            if (i % Math.max(1, printersPerOwner) == 0) {
+                owner = UUID.randomUUID();
+                owners.add(owner);
+            }
+
+            PrinterData.PrinterInfo info = placePrinter(i, side, owner, 1 + random.nextInt(highestTier));
+            info.setFuelTime(random.nextInt(maxFuel + 1));
+            info.setEarnings(random.nextInt(5000));
+        }
+    }
+
+    /**
+     * Place the index-th printer of a side x side grid without saving
+     */
+    PrinterData.PrinterInfo placePrinter(int index, int side, UUID owner, int tier) {
+        int x = (index % side) * 2;
+        int z = (index / side) * 2;
+        // Load the chunk first so the printer starts active rather than dormant
+        world.getChunkAt(x >> 4, z >> 4);
+        world.getBlockAt(x, 64, z).setType(Material.PLAYER_HEAD);
+        Location loc = new Location(world, x, 64, z);
+
+        PrinterData.PrinterInfo info = new PrinterData.PrinterInfo(owner, tier);
+        plugin.getPrinterData().putPrinter(loc, info);
+        printerLocations.add(loc);
+        return info;
+    }
+
+    void stop() {
+        MockBukkit.unmock();
+    }
+
+    /**
+     * Economy that accepts every transaction and never runs out of money
+     */
+    static Economy createEconomy() {
+        return (Economy) Proxy.newProxyInstance(Economy.class.getClassLoader(), new Class<?>[]{Economy.class},
+                (proxy, method, args) -> {
+                    Class<?> type = method.getReturnType();
+                    if (type == EconomyResponse.class) {
+                        double amount = args != null && args.length > 1 && args[1] instanceof Double
+                                ? (Double) args[1] : 0.0;
+                        return new EconomyResponse(amount, 1_000_000_000.0,
+                                EconomyResponse.ResponseType.SUCCESS, null);
+                    }
+                    if (type == boolean.class) return true;
+                    if (type == double.class) return 1_000_000_000.0;
+                    if (type == int.class) return 2;
+                    if (type == String.class) return "Benchmark";
+                    return null;
+                });
+    }
+}
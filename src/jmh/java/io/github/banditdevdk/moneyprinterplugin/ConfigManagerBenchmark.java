@@ -0,0 +1,52 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Message lookups as done by every command, notification and GUI action
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConfigManagerBenchmark {
+    private BenchmarkServer server;
+    private ConfigManager config;
+    private Map<String, String> placeholders;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        server = BenchmarkServer.start();
+        config = server.plugin.getConfigManager();
+
+        placeholders = new HashMap<>();
+        placeholders.put("tier", "Superior Printer");
+        placeholders.put("earnings", "35.00");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Benchmark
+    public String getMessage() {
+        return config.getMessage("not-owner");
+    }
+
+    @Benchmark
+    public String getMessageWithPlaceholders() {
+        return config.getMessage("upgraded", placeholders);
+    }
+}
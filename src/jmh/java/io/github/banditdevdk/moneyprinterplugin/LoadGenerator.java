@@ -0,0 +1,305 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Headless synthetic load generator.
+ *
+ * Boots the plugin on a MockBukkit server, creates players and printers with
+ * configurable tier/fuel/friend distributions and then ticks the server while
+ * driving GUI opens, collects, fuel clicks and placements at fixed rates.
+ * Reports per-tick time, allocation rate and save latency.
+ *
+ * Run with: ./gradlew loadTest --args="--printers=50000 --players=200 --ticks=2400"
+ */
+public final class LoadGenerator {
+    private final Map<String, String> options;
+    private final Random random;
+    private BenchmarkServer server;
+    private final List<PlayerMock> players = new ArrayList<>();
+    private final Map<UUID, List<Location>> printersByOwner = new HashMap<>();
+    private int placedCount;
+    private int gridSide;
+
+    private LoadGenerator(Map<String, String> options) {
+        this.options = options;
+        this.random = new Random(getLong("seed", 42L));
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                continue;
+            }
+            int split = arg.indexOf('=');
+            if (split > 0) {
+                options.put(arg.substring(2, split), arg.substring(split + 1));
+            } else {
+                options.put(arg.substring(2), "true");
+            }
+        }
+
+        new LoadGenerator(options).run();
+    }
+
+    private void run() {
+        int printers = getInt("printers", 10_000);
+        int playerCount = getInt("players", 100);
+        int ticks = getInt("ticks", 2400);
+
+        server = BenchmarkServer.start();
+        createPlayers(playerCount);
+
+        long populateStart = System.nanoTime();
+        populate(printers);
+        System.out.printf("Populated %d printers for %d players in %.1f ms%n",
+                printers, playerCount, (System.nanoTime() - populateStart) / 1_000_000.0);
+
+        // Per-second rates across the whole server
+        double guiOpens = getDouble("gui-opens", 2.0) / 20.0;
+        double collects = getDouble("collects", 2.0) / 20.0;
+        double fuelClicks = getDouble("fuel-clicks", 2.0) / 20.0;
+        double placements = getDouble("placements", 0.2) / 20.0;
+
+        double guiDebt = 0, collectDebt = 0, fuelDebt = 0, placeDebt = 0;
+        long[] tickNanos = new long[ticks];
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedStart = threads.getThreadAllocatedBytes(threadId);
+        long runStart = System.nanoTime();
+
+        // Ticks run faster than real time here, so give the printer task simulated time
+        long startMillis = System.currentTimeMillis();
+        long[] simulatedTick = new long[1];
+        server.plugin.getPrinterTask().setClock(() -> startMillis + simulatedTick[0] * 50L);
+
+        for (int tick = 0; tick < ticks; tick++) {
+            simulatedTick[0] = tick;
+            long start = System.nanoTime();
+
+            guiDebt += guiOpens;
+            while (guiDebt >= 1) {
+                openRandomGUI();
+                guiDebt--;
+            }
+            collectDebt += collects;
+            while (collectDebt >= 1) {
+                clickRandomGUI(ConfigSnapshot.GuiAction.COLLECT_MONEY);
+                collectDebt--;
+            }
+            fuelDebt += fuelClicks;
+            while (fuelDebt >= 1) {
+                clickRandomGUI(ConfigSnapshot.GuiAction.ADD_FUEL);
+                fuelDebt--;
+            }
+            placeDebt += placements;
+            while (placeDebt >= 1) {
+                placeRandomPrinter();
+                placeDebt--;
+            }
+
+            server.server.getScheduler().performOneTick();
+            tickNanos[tick] = System.nanoTime() - start;
+        }
+
+        long wallNanos = System.nanoTime() - runStart;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedStart;
+        report(tickNanos, wallNanos, allocated);
+
+        server.stop();
+    }
+
+    private void createPlayers(int count) {
+        for (int i = 0; i < count; i++) {
+            PlayerMock player = server.server.addPlayer();
+            player.getInventory().addItem(new ItemStack(server.plugin.getConfigManager().getFuelMaterial(), 64));
+            players.add(player);
+        }
+    }
+
+    /**
+     * Create printers using the configured distributions
+     */
+    private void populate(int count) {
+        int[] tierWeights = parseWeights(options.getOrDefault("tiers", "50,30,20"));
+        double emptyFuel = getDouble("empty-fuel", 0.2);
+        double offlineOwners = getDouble("offline-owners", 0.5);
+        int friends = getInt("friends", 1);
+        int maxFuel = server.plugin.getConfigManager().getMaxFuelMinutes() * 60;
+
+        gridSide = (int) Math.ceil(Math.sqrt(count * 1.1 + 16));
+        for (int i = 0; i < count; i++) {
+            UUID owner = random.nextDouble() < offlineOwners || players.isEmpty()
+                    ? UUID.randomUUID()
+                    : players.get(random.nextInt(players.size())).getUniqueId();
+
+            PrinterData.PrinterInfo info = server.placePrinter(placedCount++, gridSide, owner, pickTier(tierWeights));
+            info.setFuelTime(random.nextDouble() < emptyFuel ? 0 : random.nextInt(maxFuel) + 1);
+            info.setEarnings(random.nextInt(5000));
+
+            int friendCount = friends > 0 ? random.nextInt(friends * 2 + 1) : 0;
+            for (int f = 0; f < friendCount; f++) {
+                info.addFriend(players.isEmpty() ? UUID.randomUUID()
+                        : players.get(random.nextInt(players.size())).getUniqueId());
+            }
+
+            printersByOwner.computeIfAbsent(owner, k -> new ArrayList<>())
+                    .add(server.printerLocations.get(server.printerLocations.size() - 1));
+        }
+    }
+
+    private void openRandomGUI() {
+        PlayerMock player = players.get(random.nextInt(players.size()));
+        List<Location> owned = printersByOwner.get(player.getUniqueId());
+        if (owned == null || owned.isEmpty()) {
+            return;
+        }
+        server.plugin.getPrinterGUI().openGUI(player, owned.get(random.nextInt(owned.size())));
+    }
+
+    /**
+     * Click a button for a random player who has a printer GUI open
+     */
+    private void clickRandomGUI(ConfigSnapshot.GuiAction button) {
+        PlayerMock player = players.get(random.nextInt(players.size()));
+        if (server.plugin.getPrinterGUI().getOpenPrinter(player) == null) {
+            return;
+        }
+
+        int slot = server.plugin.getConfigManager().getSnapshot().getButton(button).getSlot();
+        InventoryClickEvent event = new InventoryClickEvent(player.getOpenInventory(),
+                InventoryType.SlotType.CONTAINER, slot, ClickType.LEFT, InventoryAction.PICKUP_ALL);
+        server.server.getPluginManager().callEvent(event);
+
+        // Keep players stocked so fuel clicks keep exercising the full path
+        if (!player.getInventory().contains(server.plugin.getConfigManager().getFuelMaterial())) {
+            player.getInventory().addItem(new ItemStack(server.plugin.getConfigManager().getFuelMaterial(), 64));
+        }
+    }
+
+    /**
+     * Fire a BlockPlaceEvent for a printer item on the next free grid position
+     */
+    private void placeRandomPrinter() {
+        PlayerMock player = players.get(random.nextInt(players.size()));
+        int index = placedCount++;
+        int x = (index % gridSide) * 2;
+        int z = (index / gridSide) * 2;
+
+        Block block = server.world.getBlockAt(x, 64, z);
+        block.setType(Material.PLAYER_HEAD);
+
+        ConfigManager.TierConfig tier = server.plugin.getConfigManager().getTier(1);
+        ItemStack item = new ItemStack(Material.PLAYER_HEAD);
+        ItemMeta meta = item.getItemMeta();
+        meta.setDisplayName("§a§lMoney Printer §8(" + tier.getName() + "§8)");
+        item.setItemMeta(meta);
+
+        BlockPlaceEvent event = new BlockPlaceEvent(block, block.getState(), server.world.getBlockAt(x, 63, z),
+                item, player, true, EquipmentSlot.HAND);
+        server.server.getPluginManager().callEvent(event);
+
+        if (!event.isCancelled()) {
+            printersByOwner.computeIfAbsent(player.getUniqueId(), k -> new ArrayList<>())
+                    .add(block.getLocation());
+        }
+    }
+
+    private void report(long[] tickNanos, long wallNanos, long allocatedBytes) {
+        long[] sorted = tickNanos.clone();
+        Arrays.sort(sorted);
+        long total = 0;
+        for (long nanos : sorted) {
+            total += nanos;
+        }
+
+        double seconds = wallNanos / 1_000_000_000.0;
+        PrinterMetrics metrics = server.plugin.getMetrics();
+
+        System.out.println("=== Load generator report ===");
+        System.out.printf("Printers: %d | Players: %d | Ticks: %d | Wall time: %.1f s%n",
+                server.plugin.getPrinterData().getAllPrinters().size(), players.size(), sorted.length, seconds);
+        System.out.printf("Tick time ms: avg %.3f | p50 %.3f | p99 %.3f | max %.3f%n",
+                total / (double) sorted.length / 1_000_000.0,
+                percentile(sorted, 0.50) / 1_000_000.0,
+                percentile(sorted, 0.99) / 1_000_000.0,
+                sorted[sorted.length - 1] / 1_000_000.0);
+        System.out.printf("Allocation: %.1f MB total | %.1f MB/s | %.1f KB/tick%n",
+                allocatedBytes / (1024.0 * 1024.0),
+                allocatedBytes / (1024.0 * 1024.0) / seconds,
+                allocatedBytes / 1024.0 / sorted.length);
+        System.out.printf("Printer task: %d runs | avg %.3f ms | p99 <= %s ms%n",
+                metrics.taskDuration.getCount(), metrics.taskDuration.getMeanMillis(),
+                metrics.taskDuration.percentileMillis(0.99));
+        System.out.printf("Saves: %d | avg %.3f ms | p99 <= %s ms | last %.1f KB%n",
+                metrics.saveDuration.getCount(), metrics.saveDuration.getMeanMillis(),
+                metrics.saveDuration.percentileMillis(0.99), metrics.saveLastBytes.get() / 1024.0);
+        System.out.printf("GUI: %d renders (avg %.3f ms) | %d clicks (avg %.3f ms)%n",
+                metrics.guiRenderDuration.getCount(), metrics.guiRenderDuration.getMeanMillis(),
+                metrics.clickDuration.getCount(), metrics.clickDuration.getMeanMillis());
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(sorted.length * percentile) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private int pickTier(int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int roll = random.nextInt(Math.max(1, total));
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i + 1;
+            }
+        }
+        return 1;
+    }
+
+    private int[] parseWeights(String value) {
+        String[] parts = value.split(",");
+        int highestTier = server.plugin.getConfigManager().getHighestTier();
+        int[] weights = new int[Math.min(parts.length, highestTier)];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = Integer.parseInt(parts[i].trim());
+        }
+        return weights;
+    }
+
+    private int getInt(String key, int def) {
+        return options.containsKey(key) ? Integer.parseInt(options.get(key)) : def;
+    }
+
+    private long getLong(String key, long def) {
+        return options.containsKey(key) ? Long.parseLong(options.get(key)) : def;
+    }
+
+    private double getDouble(String key, double def) {
+        return options.containsKey(key) ? Double.parseDouble(options.get(key)) : def;
+    }
+}
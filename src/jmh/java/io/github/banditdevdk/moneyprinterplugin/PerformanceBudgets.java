@@ -0,0 +1,160 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.event.block.BlockBreakEvent;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Performance budgets for key operations, run by ./gradlew perfTest (part of check).
+ *
+ * Each scenario runs on a fresh MockBukkit server. Budgets can be overridden with
+ * system properties (-Pperf.taskMs=... on the Gradle command line). Exits with
+ * status 1 if any budget is exceeded so the build fails.
+ */
+public final class PerformanceBudgets {
+    private final List<String> failures = new ArrayList<>();
+
+    public static void main(String[] args) {
+        PerformanceBudgets budgets = new PerformanceBudgets();
+        budgets.printerTask(10_000, budget("perf.taskMs", 250));
+        budgets.blockBreakAllocation(budget("perf.breakBytes", 1));
+        budgets.saveData(10_000, budget("perf.saveMs", 250));
+        budgets.startupLoad(50_000, budget("perf.loadSeconds", 5) * 1000.0);
+
+        if (!budgets.failures.isEmpty()) {
+            System.err.println("Performance budgets exceeded:");
+            budgets.failures.forEach(failure -> System.err.println("  " + failure));
+            System.exit(1);
+        }
+        System.out.println("All performance budgets met.");
+    }
+
+    /**
+     * Median time of one full PrinterTask cycle over N printers
+     */
+    private void printerTask(int printers, double budgetMs) {
+        BenchmarkServer server = BenchmarkServer.start();
+        try {
+            server.populate(printers, 5, 42L);
+            PrinterTask task = new PrinterTask(server.plugin);
+            long[] now = {System.currentTimeMillis()};
+            double median = medianMillis(5, 15, () -> task.runCycle(now[0] += PrinterTask.CYCLE_MILLIS));
+            check("PrinterTask cycle over " + printers + " printers", median, budgetMs, "ms");
+        } finally {
+            server.stop();
+        }
+    }
+
+    /**
+     * Bytes allocated per onBlockBreak for a player head that is not a printer
+     */
+    private void blockBreakAllocation(double budgetBytes) {
+        BenchmarkServer server = BenchmarkServer.start();
+        try {
+            server.populate(1_000, 5, 42L);
+            PlayerMock player = server.server.addPlayer();
+            Block block = server.world.getBlockAt(1, 64, 1);
+            block.setType(Material.PLAYER_HEAD);
+
+            PrinterEvents events = new PrinterEvents(server.plugin);
+            BlockBreakEvent event = new BlockBreakEvent(block, player);
+
+            // Warm up so the JIT has compiled the handler
+            for (int i = 0; i < 200_000; i++) {
+                events.onBlockBreak(event);
+            }
+
+            com.sun.management.ThreadMXBean threads =
+                    (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long threadId = Thread.currentThread().getId();
+            int calls = 1_000_000;
+            long before = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < calls; i++) {
+                events.onBlockBreak(event);
+            }
+            long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+            check("onBlockBreak allocation on a non-printer head", allocated / (double) calls, budgetBytes,
+                    "bytes/call");
+        } finally {
+            server.stop();
+        }
+    }
+
+    /**
+     * Median PrinterData.saveNow time over N printers
+     */
+    private void saveData(int printers, double budgetMs) {
+        BenchmarkServer server = BenchmarkServer.start();
+        try {
+            server.populate(printers, 5, 42L);
+            PrinterData data = server.plugin.getPrinterData();
+            // Rewrite every shard each time, the worst case
+            double median = medianMillis(3, 10, () -> {
+                data.markAllDirty();
+                data.saveNow();
+            });
+            check("saveData for " + printers + " printers", median, budgetMs, "ms");
+        } finally {
+            server.stop();
+        }
+    }
+
+    /**
+     * Time to construct PrinterData (startup load) from a file with N printers
+     */
+    private void startupLoad(int printers, double budgetMs) {
+        BenchmarkServer server = BenchmarkServer.start();
+        try {
+            server.populate(printers, 5, 42L);
+            server.plugin.getPrinterData().saveNow();
+
+            // Warm up the loader once, then time a cold-object load
+            new PrinterData(server.plugin);
+            long start = System.nanoTime();
+            PrinterData loaded = new PrinterData(server.plugin);
+            double millis = (System.nanoTime() - start) / 1_000_000.0;
+
+            if (loaded.getAllPrinters().size() != printers) {
+                failures.add("Startup load lost printers: expected " + printers + ", got "
+                        + loaded.getAllPrinters().size());
+            }
+            check("Startup load of " + printers + " printers", millis, budgetMs, "ms");
+        } finally {
+            server.stop();
+        }
+    }
+
+    private void check(String name, double value, double budget, String unit) {
+        boolean ok = value <= budget;
+        System.out.printf("%s %-50s %10.3f %s (budget %.3f)%n", ok ? "PASS" : "FAIL", name, value, unit, budget);
+        if (!ok) {
+            failures.add(String.format("%s: %.3f %s > %.3f", name, value, unit, budget));
+        }
+    }
+
+    private static double medianMillis(int warmup, int runs, Runnable action) {
+        for (int i = 0; i < warmup; i++) {
+            action.run();
+        }
+        long[] samples = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            action.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[runs / 2] / 1_000_000.0;
+    }
+
+    private static double budget(String property, double defaultValue) {
+        String value = System.getProperty(property);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+}
@@ -0,0 +1,74 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistence round-trips and the owner count used when placing a printer
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PrinterDataBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int printers;
+
+    private BenchmarkServer server;
+    private PrinterData data;
+    private UUID owner;
+    private PrinterData.PrinterInfo printer;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        server = BenchmarkServer.start();
+        server.populate(printers, 5, 42L);
+        data = server.plugin.getPrinterData();
+        data.saveNow();
+        owner = server.owners.get(server.owners.size() / 2);
+        printer = data.getPrinter(server.printerLocations.get(0));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop();
+    }
+
+    /**
+     * Save with every shard dirty, e.g. after a cycle touched printers everywhere
+     */
+    @Benchmark
+    public void saveData() {
+        data.markAllDirty();
+        data.saveNow();
+    }
+
+    /**
+     * Save after a single printer changed, e.g. a collect
+     */
+    @Benchmark
+    public void saveOneChange() {
+        printer.addFuelTime(1);
+        data.saveNow();
+    }
+
+    @Benchmark
+    public void loadData() {
+        data.loadData();
+    }
+
+    @Benchmark
+    public int countPrintersByOwner() {
+        return data.countPrintersByOwner(owner);
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.inventory.Inventory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering the printer GUI, done on open, on every click and every 2 seconds per viewer
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PrinterGUIBenchmark {
+    private BenchmarkServer server;
+    private PrinterGUI gui;
+    private Inventory inventory;
+    private Location printer;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        server = BenchmarkServer.start();
+        server.populate(1, 1, 42L);
+        gui = server.plugin.getPrinterGUI();
+
+        ConfigSnapshot config = server.plugin.getConfigManager().getSnapshot();
+        inventory = Bukkit.createInventory(null, config.getGUIRows() * 9, config.getGUITitle());
+        printer = server.printerLocations.get(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Benchmark
+    public Inventory updateGUIContent() {
+        gui.updateGUIContent(inventory, printer);
+        return inventory;
+    }
+}
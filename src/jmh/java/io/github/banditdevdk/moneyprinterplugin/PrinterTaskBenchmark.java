@@ -0,0 +1,49 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full PrinterTask cycle, including the periodic save
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PrinterTaskBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int printers;
+
+    private BenchmarkServer server;
+    private PrinterTask task;
+    private long now;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        server = BenchmarkServer.start();
+        server.populate(printers, 5, 42L);
+        task = new PrinterTask(server.plugin);
+        now = System.currentTimeMillis();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Benchmark
+    public void run() {
+        // Advance the task clock by one cycle so every printer is due
+        now += PrinterTask.CYCLE_MILLIS;
+        task.runCycle(now);
+    }
+}
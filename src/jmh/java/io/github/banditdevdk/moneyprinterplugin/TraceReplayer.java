@@ -0,0 +1,378 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import net.milkbowl.vault.economy.Economy;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.ServicePriority;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Replays a trace captured by EventRecorder through PrinterEvents, PrinterCommand
+ * and PrinterTask on a MockBukkit server.
+ *
+ * Reports dispatch latency per record type and a digest of the final PrinterData
+ * state; the full final state is written next to the trace as .final.txt so two
+ * plugin versions can be diffed.
+ *
+ * Run with: ./gradlew replay --args="path/to/trace-20261018-120000.mptrace"
+ */
+public final class TraceReplayer {
+    private static final String[] TYPE_NAMES = {
+            "", "tick", "player", "world", "place", "break", "interact", "click", "close", "command", "task"
+    };
+
+    private final File traceFile;
+    private ServerMock server;
+    private MoneyPrinterPlugin plugin;
+    private final Map<Integer, ReplayPlayer> players = new HashMap<>();
+    private final Map<Integer, World> worlds = new HashMap<>();
+    private final long[][] latencies = new long[TYPE_NAMES.length][];
+    private final int[] counts = new int[TYPE_NAMES.length];
+    private long ticks;
+    private long startMillis;
+
+    private TraceReplayer(File traceFile) {
+        this.traceFile = traceFile;
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new long[1024];
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: TraceReplayer <trace.mptrace>");
+            System.exit(2);
+        }
+        new TraceReplayer(new File(args[0])).run();
+    }
+
+    private void run() throws IOException {
+        String baseName = traceFile.getName().replaceFirst("\\.mptrace$", "");
+        File snapshot = new File(traceFile.getParentFile(), baseName + ".printers.yml");
+
+        server = MockBukkit.mock();
+        createSnapshotWorlds(snapshot);
+
+        Plugin vault = MockBukkit.createMockPlugin("Vault");
+        server.getServicesManager().register(Economy.class, BenchmarkServer.createEconomy(), vault,
+                ServicePriority.Normal);
+        plugin = MockBukkit.load(MoneyPrinterPlugin.class);
+
+        // PrinterTask runs are driven by the trace, not by the scheduler
+        plugin.getPrinterTask().cancel();
+
+        if (snapshot.exists()) {
+            // loadData imports a printers.yml into the shard files
+            Files.copy(snapshot.toPath(), new File(plugin.getDataFolder(), "printers.yml").toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
+            plugin.getPrinterData().loadData();
+            for (Location loc : plugin.getPrinterData().getAllPrinters().keySet()) {
+                if (loc.getWorld() != null) {
+                    loc.getBlock().setType(Material.PLAYER_HEAD);
+                }
+            }
+        }
+
+        long start = System.nanoTime();
+        startMillis = System.currentTimeMillis();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(traceFile)))) {
+            if (in.readLong() != EventRecorder.MAGIC) {
+                throw new IOException("Not a money printer trace: " + traceFile);
+            }
+            replay(in);
+        }
+        long wallNanos = System.nanoTime() - start;
+
+        report(wallNanos, new File(traceFile.getParentFile(), baseName + ".final.txt"));
+        MockBukkit.unmock();
+    }
+
+    /**
+     * Create every world referenced by the starting snapshot
+     */
+    private void createSnapshotWorlds(File snapshot) {
+        if (!snapshot.exists()) {
+            return;
+        }
+        ConfigurationSection section = YamlConfiguration.loadConfiguration(snapshot).getConfigurationSection("printers");
+        if (section == null) {
+            return;
+        }
+        for (String key : section.getKeys(false)) {
+            String[] parts = key.split("_");
+            if (parts.length < 4) {
+                continue;
+            }
+            String worldName = String.join("_", Arrays.copyOf(parts, parts.length - 3));
+            World world = ensureWorld(worldName);
+            // Load the chunks of snapshot printers so they start active and get ticked
+            try {
+                world.getChunkAt(Integer.parseInt(parts[parts.length - 3]) >> 4,
+                        Integer.parseInt(parts[parts.length - 1]) >> 4);
+            } catch (NumberFormatException ignored) {
+                // loadData reports invalid keys
+            }
+        }
+    }
+
+    private World ensureWorld(String name) {
+        World world = server.getWorld(name);
+        return world != null ? world : server.addSimpleWorld(name);
+    }
+
+    private void replay(DataInputStream in) throws IOException {
+        while (true) {
+            int type;
+            try {
+                type = in.readUnsignedByte();
+            } catch (EOFException e) {
+                return; // End of trace
+            }
+
+            long start = System.nanoTime();
+            switch (type) {
+                case EventRecorder.TICK: {
+                    int delta = readVarInt(in);
+                    server.getScheduler().performTicks(delta);
+                    ticks += delta;
+                    break;
+                }
+                case EventRecorder.PLAYER: {
+                    int id = readVarInt(in);
+                    UUID uuid = new UUID(in.readLong(), in.readLong());
+                    String name = in.readUTF();
+                    boolean op = in.readBoolean();
+                    ReplayPlayer player = new ReplayPlayer(server, name, uuid);
+                    server.addPlayer(player);
+                    player.setOp(op);
+                    player.getInventory().addItem(new ItemStack(plugin.getConfigManager().getFuelMaterial(), 64));
+                    players.put(id, player);
+                    break;
+                }
+                case EventRecorder.WORLD: {
+                    int id = readVarInt(in);
+                    worlds.put(id, ensureWorld(in.readUTF()));
+                    break;
+                }
+                case EventRecorder.PLACE: {
+                    ReplayPlayer player = players.get(readVarInt(in));
+                    Block block = readLocation(in).getBlock();
+                    String itemName = in.readUTF();
+                    replayPlace(player, block, itemName);
+                    break;
+                }
+                case EventRecorder.BREAK: {
+                    ReplayPlayer player = players.get(readVarInt(in));
+                    Block block = readLocation(in).getBlock();
+                    BlockBreakEvent event = new BlockBreakEvent(block, player);
+                    server.getPluginManager().callEvent(event);
+                    if (!event.isCancelled()) {
+                        block.setType(Material.AIR);
+                    }
+                    break;
+                }
+                case EventRecorder.INTERACT: {
+                    ReplayPlayer player = players.get(readVarInt(in));
+                    Block block = readLocation(in).getBlock();
+                    server.getPluginManager().callEvent(new PlayerInteractEvent(player, Action.RIGHT_CLICK_BLOCK,
+                            null, block, BlockFace.UP));
+                    break;
+                }
+                case EventRecorder.CLICK: {
+                    ReplayPlayer player = players.get(readVarInt(in));
+                    int slot = unzigzag(readVarInt(in));
+                    ClickType click = ClickType.values()[in.readUnsignedByte()];
+                    server.getPluginManager().callEvent(new InventoryClickEvent(player.getOpenInventory(),
+                            InventoryType.SlotType.CONTAINER, slot, click, InventoryAction.PICKUP_ALL));
+                    break;
+                }
+                case EventRecorder.CLOSE: {
+                    players.get(readVarInt(in)).closeInventory();
+                    break;
+                }
+                case EventRecorder.COMMAND: {
+                    ReplayPlayer player = players.get(readVarInt(in));
+                    String command = in.readUTF();
+                    player.target = in.readBoolean() ? readLocation(in).getBlock() : null;
+                    player.performCommand(command);
+                    break;
+                }
+                case EventRecorder.TASK: {
+                    // Printers are paid by elapsed time, so run the cycle at the trace's time
+                    plugin.getPrinterTask().runCycle(startMillis + ticks * 50L);
+                    break;
+                }
+                default:
+                    throw new IOException("Unknown record type " + type);
+            }
+            recordLatency(type, System.nanoTime() - start);
+        }
+    }
+
+    private void replayPlace(ReplayPlayer player, Block block, String itemName) {
+        block.setType(Material.PLAYER_HEAD);
+
+        ItemStack item = new ItemStack(Material.PLAYER_HEAD);
+        ItemMeta meta = item.getItemMeta();
+        meta.setDisplayName(itemName);
+        item.setItemMeta(meta);
+
+        Block against = block.getWorld().getBlockAt(block.getX(), block.getY() - 1, block.getZ());
+        BlockPlaceEvent event = new BlockPlaceEvent(block, block.getState(), against, item, player, true,
+                EquipmentSlot.HAND);
+        server.getPluginManager().callEvent(event);
+        if (event.isCancelled()) {
+            block.setType(Material.AIR);
+        }
+    }
+
+    private void recordLatency(int type, long nanos) {
+        if (counts[type] == latencies[type].length) {
+            latencies[type] = Arrays.copyOf(latencies[type], latencies[type].length * 2);
+        }
+        latencies[type][counts[type]++] = nanos;
+    }
+
+    private void report(long wallNanos, File stateFile) throws IOException {
+        System.out.println("=== Trace replay report ===");
+        System.out.printf("Trace: %s | Ticks: %d | Wall time: %.1f s%n",
+                traceFile.getName(), ticks, wallNanos / 1_000_000_000.0);
+
+        for (int type = EventRecorder.PLACE; type < TYPE_NAMES.length; type++) {
+            if (counts[type] == 0) {
+                continue;
+            }
+            long[] sorted = Arrays.copyOf(latencies[type], counts[type]);
+            Arrays.sort(sorted);
+            long total = 0;
+            for (long nanos : sorted) {
+                total += nanos;
+            }
+            System.out.printf("%-8s %7d | avg %.3f ms | p50 %.3f ms | p99 %.3f ms | max %.3f ms%n",
+                    TYPE_NAMES[type], sorted.length, total / (double) sorted.length / 1_000_000.0,
+                    sorted[(int) (sorted.length * 0.50)] / 1_000_000.0,
+                    sorted[Math.min(sorted.length - 1, (int) (sorted.length * 0.99))] / 1_000_000.0,
+                    sorted[sorted.length - 1] / 1_000_000.0);
+        }
+
+        // Final state, sorted so the file is stable across runs
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<Location, PrinterData.PrinterInfo> entry : plugin.getPrinterData().getAllPrinters().entrySet()) {
+            Location loc = entry.getKey();
+            PrinterData.PrinterInfo info = entry.getValue();
+            List<String> friends = new ArrayList<>();
+            for (UUID friend : info.getFriends()) {
+                friends.add(friend.toString());
+            }
+            friends.sort(null);
+
+            lines.add(String.format("%s,%d,%d,%d owner=%s tier=%d fuel=%d ticks=%d earnings=%.2f friends=%s",
+                    loc.getWorld() != null ? loc.getWorld().getName() : "?", loc.getBlockX(), loc.getBlockY(),
+                    loc.getBlockZ(), info.getOwner(), info.getTier(), info.getFuelTime(), info.getFuelTicks(),
+                    info.getEarnings(), friends));
+        }
+        lines.sort(null);
+
+        try (PrintWriter writer = new PrintWriter(stateFile, StandardCharsets.UTF_8)) {
+            lines.forEach(writer::println);
+        }
+
+        System.out.printf("Final state: %d printers | digest %s | written to %s%n",
+                lines.size(), digest(lines), stateFile.getName());
+    }
+
+    private static String digest(List<String> lines) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            for (String line : lines) {
+                sha.update(line.getBytes(StandardCharsets.UTF_8));
+                sha.update((byte) '\n');
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : sha.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.substring(0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Location readLocation(DataInputStream in) throws IOException {
+        World world = worlds.get(readVarInt(in));
+        int x = unzigzag(readVarInt(in));
+        int y = unzigzag(readVarInt(in));
+        int z = unzigzag(readVarInt(in));
+        return new Location(world, x, y, z);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Player whose target block comes from the trace instead of ray tracing
+     */
+    private static final class ReplayPlayer extends PlayerMock {
+        Block target;
+
+        ReplayPlayer(ServerMock server, String name, UUID uuid) {
+            super(server, name, uuid);
+        }
+
+        @Override
+        public Block getTargetBlockExact(int maxDistance) {
+            return target;
+        }
+    }
+}
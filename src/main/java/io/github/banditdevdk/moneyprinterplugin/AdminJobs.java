@@ -0,0 +1,358 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Bulk admin jobs for /mp admin.
+ *
+ * A job walks the live printer registry with a resumable iterator, using at most
+ * performance.admin-job-budget-ms per tick, and saves once when it finishes or is
+ * cancelled. Only one job runs at a time.
+ */
+public class AdminJobs {
+    public static final String USAGE = "§cUsage: /moneyprinter admin <purge <days>|refuel <world> [minutes]"
+            + "|reset-earnings <tier>|migrate-tier <from> <to>|status|cancel|quarantine [release <world> <file>]>";
+
+    // Ticks between progress messages
+    private static final long PROGRESS_INTERVAL = 100L;
+    // Printers processed between deadline checks
+    private static final int CHECK_INTERVAL = 64;
+
+    private final MoneyPrinterPlugin plugin;
+    private volatile Job current;
+
+    public AdminJobs(MoneyPrinterPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Handle /mp admin arguments, starting after the sub command
+     */
+    public void handle(CommandSender sender, String[] args) {
+        if (args.length < 2) {
+            sender.sendMessage(USAGE);
+            return;
+        }
+
+        String action = args[1].toLowerCase();
+        if (action.equals("status")) {
+            Job job = current;
+            sender.sendMessage(job != null ? job.progress() : "§7No admin job is running.");
+            return;
+        }
+        if (action.equals("cancel")) {
+            Job job = current;
+            if (job == null) {
+                sender.sendMessage("§cNo admin job is running.");
+            } else {
+                job.cancelled = true;
+                sender.sendMessage("§eCancelling " + job.name + "...");
+            }
+            return;
+        }
+        if (action.equals("quarantine")) {
+            handleQuarantine(sender, args);
+            return;
+        }
+        if (current != null) {
+            sender.sendMessage("§cAnother admin job is running: " + current.progress());
+            return;
+        }
+
+        try {
+            switch (action) {
+                case "purge":
+                    requireArgs(args, 3);
+                    startPurge(sender, parseInt(args[2], "days"));
+                    break;
+                case "refuel":
+                    requireArgs(args, 3);
+                    startRefuel(sender, args[2], args.length >= 4 ? parseInt(args[3], "minutes") : -1);
+                    break;
+                case "reset-earnings":
+                    requireArgs(args, 3);
+                    startResetEarnings(sender, parseInt(args[2], "tier"));
+                    break;
+                case "migrate-tier":
+                    requireArgs(args, 4);
+                    startMigrateTier(sender, parseInt(args[2], "tier"), parseInt(args[3], "tier"));
+                    break;
+                default:
+                    sender.sendMessage(USAGE);
+            }
+        } catch (IllegalArgumentException e) {
+            sender.sendMessage("§c" + e.getMessage());
+        }
+    }
+
+    /**
+     * List the quarantined shards, or release one so it is saved again
+     */
+    private void handleQuarantine(CommandSender sender, String[] args) {
+        PrinterData data = plugin.getPrinterData();
+        if (args.length < 3) {
+            List<File> files = data.getQuarantinedShards();
+            if (files.isEmpty()) {
+                sender.sendMessage("§7No shards are quarantined.");
+                return;
+            }
+            sender.sendMessage("§eQuarantined shards (not saved until released):");
+            for (File file : files) {
+                sender.sendMessage("§7- " + file.getParentFile().getName() + " " + file.getName());
+            }
+            return;
+        }
+
+        if (!args[2].equalsIgnoreCase("release") || args.length < 5) {
+            sender.sendMessage(USAGE);
+            return;
+        }
+        try {
+            int count = data.releaseQuarantine(args[3], args[4]);
+            sender.sendMessage("§aReleased " + args[3] + " " + args[4] + ", read back " + count + " printers.");
+        } catch (IllegalArgumentException e) {
+            sender.sendMessage("§c" + e.getMessage());
+        }
+    }
+
+    /**
+     * Remove printers of owners who have not played for the given number of days.
+     * Owners are checked once, off the main thread, before the job starts.
+     */
+    private void startPurge(CommandSender sender, int days) {
+        if (days < 1) {
+            throw new IllegalArgumentException("Days must be at least 1.");
+        }
+
+        long cutoff = System.currentTimeMillis() - days * 86_400_000L;
+        sender.sendMessage("§7Checking printer owners...");
+        plugin.getPrinterScheduler().runAsync(() -> {
+            Set<UUID> owners = new HashSet<>();
+            for (PrinterData.PrinterInfo info : plugin.getPrinterData().getAllPrinters().values()) {
+                owners.add(info.getOwner());
+            }
+            Set<UUID> inactive = new HashSet<>();
+            for (UUID owner : owners) {
+                OfflinePlayer player = Bukkit.getOfflinePlayer(owner);
+                if (!player.isOnline() && player.getLastPlayed() < cutoff) {
+                    inactive.add(owner);
+                }
+            }
+
+            plugin.getPrinterScheduler().runGlobal(() -> {
+                if (inactive.isEmpty()) {
+                    sender.sendMessage("§aNo printer owners have been inactive for " + days + " days.");
+                    return;
+                }
+                start(sender, new Job("purge (" + inactive.size() + " inactive owners)") {
+                    @Override
+                    boolean apply(Location loc, PrinterData.PrinterInfo info) {
+                        if (!inactive.contains(info.getOwner())) {
+                            return false;
+                        }
+                        plugin.getPrinterData().unregisterPrinter(loc);
+                        clearBlock(loc);
+                        return true;
+                    }
+                });
+            });
+        });
+    }
+
+    /**
+     * Add fuel to every printer in a world, or fill them up if no minutes are given
+     */
+    private void startRefuel(CommandSender sender, String worldName, int minutes) {
+        World world = Bukkit.getWorld(worldName);
+        if (world == null) {
+            throw new IllegalArgumentException("World not found: " + worldName);
+        }
+
+        int maxFuel = plugin.getConfigManager().getMaxFuelMinutes() * 60;
+        start(sender, new Job("refuel " + world.getName()) {
+            @Override
+            boolean apply(Location loc, PrinterData.PrinterInfo info) {
+                if (loc.getWorld() != world) {
+                    return false;
+                }
+                // Capped in one locked step, so fuel burned meanwhile on the printer's region isn't undone
+                return info.addFuelTime(minutes < 0 ? maxFuel : minutes * 60, maxFuel) > 0;
+            }
+        });
+    }
+
+    /**
+     * Clear stored money of every printer of a tier
+     */
+    private void startResetEarnings(CommandSender sender, int tier) {
+        UUID admin = sender instanceof Player ? ((Player) sender).getUniqueId() : null;
+        start(sender, new Job("reset earnings of tier " + tier) {
+            @Override
+            boolean apply(Location loc, PrinterData.PrinterInfo info) {
+                if (info.getTier() != tier) {
+                    return false;
+                }
+                double earnings = info.takeEarnings();
+                if (earnings <= 0) {
+                    return false;
+                }
+                plugin.getAuditLog().record(AuditLog.ADMIN_RESET, loc, info.getOwner(), admin, tier, earnings);
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Move every printer of one tier to another, e.g. after a tier was removed from the config
+     */
+    private void startMigrateTier(CommandSender sender, int from, int to) {
+        if (plugin.getConfigManager().getTier(to) == null) {
+            throw new IllegalArgumentException("Invalid tier. Available tiers: "
+                    + plugin.getConfigManager().getTiers().keySet());
+        }
+
+        start(sender, new Job("migrate tier " + from + " to " + to) {
+            @Override
+            boolean apply(Location loc, PrinterData.PrinterInfo info) {
+                if (info.getTier() != from) {
+                    return false;
+                }
+                info.setTier(to);
+                return true;
+            }
+        });
+    }
+
+    private void start(CommandSender sender, Job job) {
+        if (current != null) {
+            sender.sendMessage("§cAnother admin job is running: " + current.progress());
+            return;
+        }
+        job.sender = sender;
+        job.total = plugin.getPrinterData().getPrinterCount();
+        job.iterator = plugin.getPrinterData().getAllPrinters().entrySet().iterator();
+        current = job;
+        job.task = plugin.getPrinterScheduler().runTimer(job, 1L, 1L);
+        sender.sendMessage("§aStarted admin job: " + job.name + " §7(" + job.total + " printers to check)");
+    }
+
+    /**
+     * Clear a purged printer's block if its chunk is loaded. Heads in unloaded chunks
+     * are left in place; they are no longer printers.
+     */
+    private void clearBlock(Location loc) {
+        World world = loc.getWorld();
+        if (world == null || !world.isChunkLoaded(loc.getBlockX() >> 4, loc.getBlockZ() >> 4)) {
+            return;
+        }
+        plugin.getPrinterScheduler().runAt(loc, () -> {
+            Block block = loc.getBlock();
+            if (block.getType() == Material.PLAYER_HEAD) {
+                block.setType(Material.AIR);
+            }
+        });
+    }
+
+    private static void requireArgs(String[] args, int count) {
+        if (args.length < count) {
+            throw new IllegalArgumentException(USAGE.substring(2));
+        }
+    }
+
+    private static int parseInt(String value, String what) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + what + ": " + value);
+        }
+    }
+
+    /**
+     * A running bulk job. Runs every tick on the main thread (global region on Folia).
+     */
+    private abstract class Job implements Runnable {
+        final String name;
+        final long startTime = System.currentTimeMillis();
+        CommandSender sender;
+        Iterator<Map.Entry<Location, PrinterData.PrinterInfo>> iterator;
+        PrinterScheduler.Task task;
+        int total;
+        int processed;
+        int changed;
+        long ticks;
+        volatile boolean cancelled;
+
+        Job(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Apply the job to one printer, returning whether it changed
+         */
+        abstract boolean apply(Location loc, PrinterData.PrinterInfo info);
+
+        @Override
+        public void run() {
+            long deadline = System.nanoTime() + plugin.getConfigManager().getAdminJobBudgetMs() * 1_000_000L;
+            int sinceCheck = 0;
+            while (!cancelled && iterator.hasNext()) {
+                Map.Entry<Location, PrinterData.PrinterInfo> entry = iterator.next();
+                processed++;
+                if (apply(entry.getKey(), entry.getValue())) {
+                    changed++;
+                }
+                if (++sinceCheck == CHECK_INTERVAL) {
+                    sinceCheck = 0;
+                    if (System.nanoTime() >= deadline) {
+                        break;
+                    }
+                }
+            }
+
+            ticks++;
+            if (cancelled || !iterator.hasNext()) {
+                finish();
+            } else if (ticks % PROGRESS_INTERVAL == 0) {
+                sender.sendMessage(progress());
+            }
+        }
+
+        private void finish() {
+            task.cancel();
+            current = null;
+
+            // One save for the whole job
+            if (changed > 0) {
+                plugin.getPrinterData().saveData();
+            }
+
+            long seconds = (System.currentTimeMillis() - startTime) / 1000;
+            sender.sendMessage((cancelled ? "§eCancelled admin job: " : "§aFinished admin job: ") + name
+                    + " §7- changed " + changed + " of " + processed + " printers checked in " + ticks
+                    + " ticks (" + seconds + "s)");
+            plugin.getLogger().info((cancelled ? "Cancelled" : "Finished") + " admin job " + name + " by "
+                    + sender.getName() + ": changed " + changed + " of " + processed + " printers");
+        }
+
+        String progress() {
+            int percent = total > 0 ? Math.min(100, processed * 100 / total) : 100;
+            return "§7Admin job §f" + name + "§7: " + percent + "% (" + processed + "/" + total
+                    + " checked, " + changed + " changed)";
+        }
+    }
+}
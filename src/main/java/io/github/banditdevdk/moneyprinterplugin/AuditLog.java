@@ -0,0 +1,317 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Transaction audit log for money minted, collected and spent.
+ *
+ * Records are written into a fixed-size lock-free ring buffer and drained by a
+ * background thread into rotating binary files (audit/audit.log, audit.log.1, ...).
+ * Recording never blocks or allocates; if the buffer is full the record is dropped
+ * and counted instead.
+ *
+ * File layout: a 16 byte header (magic "MPAUDIT1", int version, int record size)
+ * followed by 88 byte big-endian records:
+ * time (long millis), type (int), tier (int), x, y, z (int), padding (int),
+ * world UUID, owner UUID, actor UUID (2 longs each) and amount (double).
+ */
+public class AuditLog {
+    // Record types
+    public static final int MINT = 1;
+    public static final int COLLECT = 2;
+    public static final int UPGRADE = 3;
+    public static final int REMOVE_PAYOUT = 4;
+    public static final int REMOTE_COLLECT = 5;
+    // Stored money cleared by an admin job; the actor is the admin, or none for the console
+    public static final int ADMIN_RESET = 6;
+
+    private static final long MAGIC = 0x4D50415544495431L; // "MPAUDIT1"
+    private static final int VERSION = 1;
+    private static final int LONGS_PER_RECORD = 11;
+    public static final int RECORD_SIZE = LONGS_PER_RECORD * 8;
+    private static final int HEADER_SIZE = 16;
+    private static final long IDLE_PARK_NANOS = 50_000_000L; // 50 ms
+
+    private final MoneyPrinterPlugin plugin;
+    private final boolean enabled;
+    private final int capacity;
+    private final int mask;
+    private final long[] slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private long head; // Only touched by the writer thread
+
+    private final File directory;
+    private final long maxFileSize;
+    private final int maxFiles;
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(RECORD_SIZE * 512);
+    private FileChannel channel;
+    private long fileSize;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AuditLog(MoneyPrinterPlugin plugin) {
+        this.plugin = plugin;
+        ConfigManager config = plugin.getConfigManager();
+
+        this.enabled = config.isAuditEnabled();
+        this.capacity = enabled ? roundToPowerOfTwo(config.getAuditBufferSize()) : 1;
+        this.mask = capacity - 1;
+        this.slots = new long[capacity * LONGS_PER_RECORD];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+
+        this.directory = new File(plugin.getDataFolder(), "audit");
+        this.maxFileSize = Math.max(1, config.getAuditMaxFileSizeMb()) * 1024L * 1024L;
+        this.maxFiles = Math.max(1, config.getAuditMaxFiles());
+    }
+
+    /**
+     * Start the background writer thread
+     */
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            openChannel();
+        } catch (IOException e) {
+            plugin.getLogger().severe("Could not open audit log! Auditing is disabled.");
+            e.printStackTrace();
+            return;
+        }
+
+        running = true;
+        writer = new Thread(this::writeLoop, "MoneyPrinter-AuditWriter");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stop the writer thread and flush everything still in the buffer
+     */
+    public void shutdown() {
+        if (writer == null) {
+            return;
+        }
+
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(5000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+
+        long lost = dropped.get();
+        if (lost > 0) {
+            plugin.getLogger().warning("Audit log dropped " + lost + " records because the buffer was full.");
+        }
+    }
+
+    /**
+     * Record a transaction. Safe to call from any thread; never blocks.
+     *
+     * @param actor the player who triggered the transaction, or null for the server
+     */
+    public void record(int type, Location loc, UUID owner, UUID actor, int tier, double amount) {
+        if (!running) {
+            return;
+        }
+
+        long pos;
+        int index;
+        while (true) {
+            pos = tail.get();
+            index = (int) (pos & mask);
+            long seq = sequences.get(index);
+            if (seq == pos) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    break;
+                }
+            } else if (seq < pos) {
+                // Buffer is full - drop rather than stall the caller
+                dropped.incrementAndGet();
+                return;
+            }
+            // Another producer claimed this slot, retry with the new tail
+        }
+
+        int base = index * LONGS_PER_RECORD;
+        World world = loc != null ? loc.getWorld() : null;
+        UUID worldId = world != null ? world.getUID() : null;
+
+        slots[base] = System.currentTimeMillis();
+        slots[base + 1] = ((long) type << 32) | (tier & 0xFFFFFFFFL);
+        if (loc != null) {
+            slots[base + 2] = ((long) loc.getBlockX() << 32) | (loc.getBlockY() & 0xFFFFFFFFL);
+            slots[base + 3] = (long) loc.getBlockZ() << 32;
+        } else {
+            slots[base + 2] = 0L;
+            slots[base + 3] = 0L;
+        }
+        slots[base + 4] = worldId != null ? worldId.getMostSignificantBits() : 0L;
+        slots[base + 5] = worldId != null ? worldId.getLeastSignificantBits() : 0L;
+        slots[base + 6] = owner != null ? owner.getMostSignificantBits() : 0L;
+        slots[base + 7] = owner != null ? owner.getLeastSignificantBits() : 0L;
+        slots[base + 8] = actor != null ? actor.getMostSignificantBits() : 0L;
+        slots[base + 9] = actor != null ? actor.getLeastSignificantBits() : 0L;
+        slots[base + 10] = Double.doubleToRawLongBits(amount);
+
+        // Publish the record to the writer
+        sequences.set(index, pos + 1);
+    }
+
+    /**
+     * Number of records dropped because the buffer was full
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public boolean isEnabled() {
+        return running;
+    }
+
+    /**
+     * Writer thread main loop
+     */
+    private void writeLoop() {
+        while (running) {
+            if (drain() == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+
+        // Final drain after shutdown was requested
+        while (drain() > 0) {
+            // keep draining
+        }
+
+        try {
+            channel.force(false);
+            channel.close();
+        } catch (IOException e) {
+            plugin.getLogger().severe("Could not close audit log!");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Move all published records from the ring buffer to disk
+     */
+    private int drain() {
+        int count = 0;
+        writeBuffer.clear();
+
+        while (true) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                break; // Nothing published at this position yet
+            }
+
+            if (writeBuffer.remaining() < RECORD_SIZE) {
+                flush();
+            }
+
+            int base = index * LONGS_PER_RECORD;
+            for (int i = 0; i < LONGS_PER_RECORD; i++) {
+                writeBuffer.putLong(slots[base + i]);
+            }
+
+            // Hand the slot back to producers for the next lap
+            sequences.set(index, head + capacity);
+            head++;
+            count++;
+        }
+
+        if (count > 0) {
+            flush();
+        }
+        return count;
+    }
+
+    /**
+     * Write the pending buffer, rotating the file first if it is full
+     */
+    private void flush() {
+        writeBuffer.flip();
+        try {
+            if (fileSize + writeBuffer.remaining() > maxFileSize) {
+                rotate();
+            }
+            while (writeBuffer.hasRemaining()) {
+                fileSize += channel.write(writeBuffer);
+            }
+        } catch (IOException e) {
+            plugin.getLogger().severe("Could not write audit log!");
+            e.printStackTrace();
+        }
+        writeBuffer.clear();
+    }
+
+    /**
+     * Shift audit.log -> audit.log.1 -> ... and start a fresh file
+     */
+    private void rotate() throws IOException {
+        channel.force(false);
+        channel.close();
+
+        File oldest = new File(directory, "audit.log." + maxFiles);
+        Files.deleteIfExists(oldest.toPath());
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            File from = new File(directory, "audit.log." + i);
+            if (from.exists()) {
+                Files.move(from.toPath(), new File(directory, "audit.log." + (i + 1)).toPath(),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(new File(directory, "audit.log").toPath(), new File(directory, "audit.log.1").toPath(),
+                StandardCopyOption.REPLACE_EXISTING);
+
+        openChannel();
+    }
+
+    /**
+     * Open the active log file for appending, writing the header if it is new
+     */
+    private void openChannel() throws IOException {
+        directory.mkdirs();
+        File file = new File(directory, "audit.log");
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        fileSize = channel.size();
+
+        if (fileSize == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putLong(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).flip();
+            while (header.hasRemaining()) {
+                fileSize += channel.write(header);
+            }
+        }
+    }
+
+    private static int roundToPowerOfTwo(int value) {
+        int size = Math.max(2, Math.min(value, 1 << 24));
+        return Integer.highestOneBit(size - 1) << 1;
+    }
+}
@@ -0,0 +1,132 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+/**
+ * Allocation-free multiset of block coordinates (open addressing on packed longs).
+ *
+ * Used as a fast pre-check before the Location keyed printer lookup, so events on
+ * ordinary blocks can be rejected without creating a Location. World is not part
+ * of the key, so a hit still needs the full lookup.
+ */
+public class BlockPositionSet {
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private int[] counts; // 0 = empty slot
+    private int size;
+    private int mask;
+
+    public BlockPositionSet() {
+        this(64);
+    }
+
+    public BlockPositionSet(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expected / LOAD_FACTOR)) - 1) << 1;
+        keys = new long[capacity];
+        counts = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Pack block coordinates into a long (26 bits x, 26 bits z, 12 bits y)
+     */
+    public static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    public void add(int x, int y, int z) {
+        if (size + 1 > keys.length * LOAD_FACTOR) {
+            resize(keys.length * 2);
+        }
+
+        long key = pack(x, y, z);
+        int index = slot(key);
+        while (counts[index] != 0) {
+            if (keys[index] == key) {
+                counts[index]++;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        counts[index] = 1;
+        size++;
+    }
+
+    public void remove(int x, int y, int z) {
+        long key = pack(x, y, z);
+        int index = slot(key);
+        while (counts[index] != 0) {
+            if (keys[index] == key) {
+                if (--counts[index] == 0) {
+                    size--;
+                    shiftBack(index);
+                }
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    public boolean contains(int x, int y, int z) {
+        long key = pack(x, y, z);
+        int index = slot(key);
+        while (counts[index] != 0) {
+            if (keys[index] == key) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    public void clear() {
+        java.util.Arrays.fill(counts, 0);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Close the gap left by a removed entry so lookups never need tombstones
+     */
+    private void shiftBack(int gap) {
+        int index = (gap + 1) & mask;
+        while (counts[index] != 0) {
+            int home = slot(keys[index]);
+            // Move the entry if its home slot is not between the gap and its current slot
+            if (((index - home) & mask) >= ((index - gap) & mask)) {
+                keys[gap] = keys[index];
+                counts[gap] = counts[index];
+                counts[index] = 0;
+                gap = index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new long[capacity];
+        counts = new int[capacity];
+        mask = capacity - 1;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] != 0) {
+                int index = slot(oldKeys[i]);
+                while (counts[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                counts[index] = oldCounts[i];
+            }
+        }
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
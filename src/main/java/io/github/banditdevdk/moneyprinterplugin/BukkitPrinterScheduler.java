@@ -0,0 +1,64 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+
+/**
+ * PrinterScheduler for Paper/Spigot, backed by the Bukkit scheduler
+ */
+public class BukkitPrinterScheduler implements PrinterScheduler {
+    private final MoneyPrinterPlugin plugin;
+
+    public BukkitPrinterScheduler(MoneyPrinterPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean isRegionThreaded() {
+        return false;
+    }
+
+    @Override
+    public Task runTimer(Runnable task, long delayTicks, long periodTicks) {
+        return Bukkit.getScheduler().runTaskTimer(plugin, task, delayTicks, periodTicks)::cancel;
+    }
+
+    @Override
+    public void runGlobal(Runnable task) {
+        Bukkit.getScheduler().runTask(plugin, task);
+    }
+
+    @Override
+    public void runAt(Location location, Runnable task) {
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+        } else {
+            Bukkit.getScheduler().runTask(plugin, task);
+        }
+    }
+
+    @Override
+    public void runForEntity(Entity entity, Runnable task, long delayTicks) {
+        if (delayTicks <= 0 && Bukkit.isPrimaryThread()) {
+            task.run();
+        } else {
+            Bukkit.getScheduler().runTaskLater(plugin, task, Math.max(0L, delayTicks));
+        }
+    }
+
+    @Override
+    public void runAsync(Runnable task) {
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, task);
+    }
+
+    @Override
+    public Task runAsyncTimer(Runnable task, long delayTicks, long periodTicks) {
+        return Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, task, delayTicks, periodTicks)::cancel;
+    }
+
+    @Override
+    public void cancelAll() {
+        Bukkit.getScheduler().cancelTasks(plugin);
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-player limits on printer GUI button clicks.
+ *
+ * Every player has a token bucket holding up to gui.click-limit.burst clicks, refilled at
+ * gui.click-limit.per-second. Repeat clicks on the same slot within gui.click-limit.debounce-ms
+ * are dropped before they reach the bucket, so a double click or an autoclicker on one
+ * button becomes a single action instead of a stream of economy calls and saves.
+ */
+public class ClickLimiter {
+    public enum Result {
+        ALLOWED,
+        // Repeat of the last click on the same slot
+        DEBOUNCED,
+        // Out of tokens, for the first time since the last allowed click
+        THROTTLED,
+        // Out of tokens again; the player was already told
+        THROTTLED_SILENT
+    }
+
+    private final MoneyPrinterPlugin plugin;
+    private final Map<UUID, State> states = new ConcurrentHashMap<>();
+
+    public ClickLimiter(MoneyPrinterPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Check and record a click of a player on a GUI slot
+     */
+    public Result click(UUID player, int slot) {
+        ConfigManager config = plugin.getConfigManager();
+        int burst = config.getClickBurst();
+        double perSecond = config.getClicksPerSecond();
+        long debounceNanos = config.getClickDebounceMs() * 1_000_000L;
+        long now = System.nanoTime();
+
+        State state = states.computeIfAbsent(player, uuid -> new State(burst, now));
+        synchronized (state) {
+            if (slot == state.lastSlot && now - state.lastClick < debounceNanos) {
+                return Result.DEBOUNCED;
+            }
+            state.lastSlot = slot;
+            state.lastClick = now;
+
+            state.tokens = Math.min(burst, state.tokens + (now - state.lastRefill) / 1e9 * perSecond);
+            state.lastRefill = now;
+            if (state.tokens < 1.0) {
+                if (state.warned) {
+                    return Result.THROTTLED_SILENT;
+                }
+                state.warned = true;
+                return Result.THROTTLED;
+            }
+            state.tokens -= 1.0;
+            state.warned = false;
+            return Result.ALLOWED;
+        }
+    }
+
+    /**
+     * Drop a player's state, e.g. when they leave
+     */
+    public void forget(UUID player) {
+        states.remove(player);
+    }
+
+    private static final class State {
+        double tokens;
+        long lastRefill;
+        long lastClick;
+        int lastSlot = -1;
+        boolean warned;
+
+        State(double tokens, long now) {
+            this.tokens = tokens;
+            this.lastRefill = now;
+        }
+    }
+}
@@ -1,263 +1,178 @@
 package io.github.banditdevdk.moneyprinterplugin;
 
-import org.bukkit.ChatColor;
 import org.bukkit.Material;
-import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 /**
- * Manages plugin configuration
+ * Manages plugin configuration.
+ *
+ * The config is compiled into an immutable ConfigSnapshot that is swapped atomically
+ * on reload, so readers never see a half-updated config. A reload with problems keeps
+ * the live snapshot. The getters below read the current snapshot; code that needs
+ * several values to be consistent should hold getSnapshot() instead.
  */
 public class ConfigManager {
     private final MoneyPrinterPlugin plugin;
-    private FileConfiguration config;
-
-    // Cached config values
-    private int maxPrintersPerPlayer;
-    private List<String> disabledWorlds;
-    private boolean fuelEnabled;
-    private Material fuelMaterial;
-    private int fuelMinutesPerItem;
-    private int maxFuelMinutes;
-    private int generationInterval;
-    private double maxMoneyStorage;
-    private boolean notifyFuelEmpty;
-    private boolean notifyStorageFull;
-    private boolean notifyFuelEmptyOnLogin;
-    private Map<Integer, TierConfig> tiers;
+    private final File file;
+    private volatile ConfigSnapshot snapshot;
+    private ConfigWatcher watcher;
 
     public ConfigManager(MoneyPrinterPlugin plugin) {
         this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), "config.yml");
         loadConfig();
     }
 
     /**
-     * Load/reload configuration
+     * Load configuration at startup. Problems are logged and replaced by defaults.
      */
-    public void loadConfig() {
+    private void loadConfig() {
         plugin.saveDefaultConfig();
-        plugin.reloadConfig();
-        config = plugin.getConfig();
-
-        // Load general settings
-        maxPrintersPerPlayer = config.getInt("settings.max-printers-per-player", 1);
-        disabledWorlds = config.getStringList("settings.disabled-worlds");
 
-        // Load fuel settings
-        fuelEnabled = config.getBoolean("fuel.enabled", true);
-        String fuelMaterialName = config.getString("fuel.material", "COAL");
-        try {
-            fuelMaterial = Material.valueOf(fuelMaterialName.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            plugin.getLogger().warning("Invalid fuel material: " + fuelMaterialName + ". Using COAL.");
-            fuelMaterial = Material.COAL;
+        List<String> problems = new ArrayList<>();
+        snapshot = ConfigSnapshot.compile(readConfig(problems), problems);
+        for (String problem : problems) {
+            plugin.getLogger().warning(problem);
         }
-        fuelMinutesPerItem = config.getInt("fuel.minutes-per-item", 5);
-        maxFuelMinutes = config.getInt("fuel.max-fuel-minutes", 60);
-
-        // Load money settings
-        generationInterval = config.getInt("money.generation-interval", 5);
-        maxMoneyStorage = config.getDouble("money.max-storage", 10000.0);
-
-        // Load notification settings
-        notifyFuelEmpty = config.getBoolean("notifications.fuel-empty", true);
-        notifyStorageFull = config.getBoolean("notifications.storage-full", true);
-        notifyFuelEmptyOnLogin = config.getBoolean("notifications.fuel-empty-on-login", false);
-
-        // Load tiers
-        loadTiers();
 
         plugin.getLogger().info("Configuration loaded successfully!");
     }
 
     /**
-     * Load tier configurations
+     * Reload configuration. Returns the problems found; if there are any the current
+     * config stays live. Safe to call from any thread.
      */
-    private void loadTiers() {
-        tiers = new HashMap<>();
-        ConfigurationSection tiersSection = config.getConfigurationSection("tiers");
-
-        if (tiersSection == null) {
-            plugin.getLogger().warning("No tiers configured! Using defaults.");
-            createDefaultTiers();
-            return;
+    public synchronized List<String> reload() {
+        List<String> problems = new ArrayList<>();
+        ConfigSnapshot compiled = ConfigSnapshot.compile(readConfig(problems), problems);
+        if (!problems.isEmpty()) {
+            plugin.getLogger().warning("Configuration not reloaded, keeping the current config:");
+            for (String problem : problems) {
+                plugin.getLogger().warning("  " + problem);
+            }
+            return problems;
         }
 
-        for (String key : tiersSection.getKeys(false)) {
-            try {
-                int tierNum = Integer.parseInt(key);
-                String path = "tiers." + key;
-
-                String name = config.getString(path + ".name", "Tier " + tierNum);
-                String blockName = config.getString(path + ".block", "PLAYER_HEAD");
-                Material block;
-                try {
-                    block = Material.valueOf(blockName.toUpperCase());
-                    // Force PLAYER_HEAD - don't allow other block types
-                    if (block != Material.PLAYER_HEAD) {
-                        plugin.getLogger().warning("Block type for tier " + tierNum + " must be PLAYER_HEAD! Using PLAYER_HEAD instead of " + blockName);
-                        block = Material.PLAYER_HEAD;
-                    }
-                } catch (IllegalArgumentException e) {
-                    plugin.getLogger().warning("Invalid block for tier " + tierNum + ": " + blockName + ". Using PLAYER_HEAD.");
-                    block = Material.PLAYER_HEAD;
-                }
+        snapshot = compiled;
+        plugin.getLogger().info("Configuration reloaded successfully!");
+        return problems;
+    }
 
-                String skullTexture = config.getString(path + ".skull-texture", "");
-                double earnings = config.getDouble(path + ".earnings", 10.0);
-                double upgradeCost = config.getDouble(path + ".upgrade-cost", 0.0);
+    /**
+     * Read config.yml with the bundled config as defaults
+     */
+    private FileConfiguration readConfig(List<String> problems) {
+        YamlConfiguration yaml = new YamlConfiguration();
+        try {
+            yaml.load(file);
+        } catch (IOException | InvalidConfigurationException e) {
+            problems.add("Could not read config.yml: " + e.getMessage());
+        }
 
-                TierConfig tierConfig = new TierConfig(tierNum, name, block, skullTexture, earnings, upgradeCost);
-                tiers.put(tierNum, tierConfig);
+        InputStream defaults = plugin.getResource("config.yml");
+        if (defaults != null) {
+            yaml.setDefaults(YamlConfiguration.loadConfiguration(new InputStreamReader(defaults, StandardCharsets.UTF_8)));
+        }
+        return yaml;
+    }
 
-            } catch (NumberFormatException e) {
-                plugin.getLogger().warning("Invalid tier number: " + key);
-            }
+    /**
+     * Start reloading automatically when config.yml changes, if enabled
+     */
+    public void startWatching() {
+        if (snapshot.isWatchConfig() && watcher == null) {
+            watcher = new ConfigWatcher(plugin, file);
+            watcher.start();
         }
+    }
 
-        if (tiers.isEmpty()) {
-            plugin.getLogger().warning("No valid tiers loaded! Using defaults.");
-            createDefaultTiers();
+    public void stopWatching() {
+        if (watcher != null) {
+            watcher.shutdown();
+            watcher = null;
         }
     }
 
     /**
-     * Create default tiers if none exist
+     * Get the current config snapshot
      */
-    private void createDefaultTiers() {
-        tiers.put(1, new TierConfig(1, "Iron Printer", Material.PLAYER_HEAD,
-                "http://textures.minecraft.net/texture/f8eecae423359d3f5efd1063a9a7bcfaa43839d75d3b223c808df7961dd173d0",
-                10.0, 0.0));
-        tiers.put(2, new TierConfig(2, "Gold Printer", Material.PLAYER_HEAD,
-                "http://textures.minecraft.net/texture/6c07d48fd8764bc8d01a10cc6426578862090d9e856f3a8dd7f974a7521efc43",
-                20.0, 500.0));
-        tiers.put(3, new TierConfig(3, "Diamond Printer", Material.PLAYER_HEAD,
-                "http://textures.minecraft.net/texture/666070ce03a545ee4d263bcf27f36338d249d7cb7a2376f92c1673ae134e04b6",
-                35.0, 1500.0));
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
     }
 
     /**
      * Get a message from config with color codes translated
      */
     public String getMessage(String path) {
-        String message = config.getString("messages." + path, path);
-        message = ChatColor.translateAlternateColorCodes('&', message);
-
-        // Replace {prefix} with the actual prefix
-        String prefix = config.getString("messages.prefix", "");
-        prefix = ChatColor.translateAlternateColorCodes('&', prefix);
-        message = message.replace("{prefix}", prefix);
-
-        return message;
+        return snapshot.getMessage(path);
     }
 
     /**
      * Get a message with placeholders replaced
      */
     public String getMessage(String path, Map<String, String> placeholders) {
-        String message = getMessage(path);
-        for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-            message = message.replace("{" + entry.getKey() + "}", entry.getValue());
-        }
-        return message;
+        return snapshot.getMessage(path, placeholders);
     }
 
     // Getters
-    public FileConfiguration getConfig() { return config; }
-    public int getMaxPrintersPerPlayer() { return maxPrintersPerPlayer; }
-    public List<String> getDisabledWorlds() { return disabledWorlds; }
-    public boolean isFuelEnabled() { return fuelEnabled; }
-    public Material getFuelMaterial() { return fuelMaterial; }
-    public int getFuelMinutesPerItem() { return fuelMinutesPerItem; }
-    public int getMaxFuelMinutes() { return maxFuelMinutes; }
-    public int getGenerationInterval() { return generationInterval; }
-    public double getMaxMoneyStorage() { return maxMoneyStorage; }
-    public boolean shouldNotifyFuelEmpty() { return notifyFuelEmpty; }
-    public boolean shouldNotifyStorageFull() { return notifyStorageFull; }
-    public boolean shouldNotifyFuelEmptyOnLogin() { return notifyFuelEmptyOnLogin; }
-    public Map<Integer, TierConfig> getTiers() { return tiers; }
-    public TierConfig getTier(int tier) { return tiers.get(tier); }
-    public int getHighestTier() {
-        return tiers.keySet().stream().max(Integer::compareTo).orElse(1);
-    }
+    public FileConfiguration getConfig() { return snapshot.getConfig(); }
+    public int getMaxPrintersPerPlayer() { return snapshot.getMaxPrintersPerPlayer(); }
+    public List<String> getDisabledWorlds() { return snapshot.getDisabledWorlds(); }
+    public int getNameCacheSize() { return snapshot.getNameCacheSize(); }
+    public boolean isFuelEnabled() { return snapshot.isFuelEnabled(); }
+    public Material getFuelMaterial() { return snapshot.getFuelMaterial(); }
+    public int getFuelMinutesPerItem() { return snapshot.getFuelMinutesPerItem(); }
+    public int getMaxFuelMinutes() { return snapshot.getMaxFuelMinutes(); }
+    public int getGenerationInterval() { return snapshot.getGenerationInterval(); }
+    public double getMaxMoneyStorage() { return snapshot.getMaxMoneyStorage(); }
+    public boolean isDormantCatchUp() { return snapshot.isDormantCatchUp(); }
+    public boolean shouldNotifyFuelEmpty() { return snapshot.shouldNotifyFuelEmpty(); }
+    public boolean shouldNotifyStorageFull() { return snapshot.shouldNotifyStorageFull(); }
+    public boolean shouldNotifyFuelEmptyOnLogin() { return snapshot.shouldNotifyFuelEmptyOnLogin(); }
+    public boolean isAuditEnabled() { return snapshot.isAuditEnabled(); }
+    public int getAuditBufferSize() { return snapshot.getAuditBufferSize(); }
+    public int getAuditMaxFileSizeMb() { return snapshot.getAuditMaxFileSizeMb(); }
+    public int getAuditMaxFiles() { return snapshot.getAuditMaxFiles(); }
+    public String getMetricsFile() { return snapshot.getMetricsFile(); }
+    public int getMetricsExportInterval() { return snapshot.getMetricsExportInterval(); }
+    public boolean isMetricsHttpEnabled() { return snapshot.isMetricsHttpEnabled(); }
+    public String getMetricsHttpBind() { return snapshot.getMetricsHttpBind(); }
+    public int getMetricsHttpPort() { return snapshot.getMetricsHttpPort(); }
+    public boolean isRecorderEnabled() { return snapshot.isRecorderEnabled(); }
+    public boolean isHologramsEnabled() { return snapshot.isHologramsEnabled(); }
+    public double getHologramRadius() { return snapshot.getHologramRadius(); }
+    public double getHologramHeight() { return snapshot.getHologramHeight(); }
+    public int getClickBurst() { return snapshot.getClickBurst(); }
+    public double getClicksPerSecond() { return snapshot.getClicksPerSecond(); }
+    public int getClickDebounceMs() { return snapshot.getClickDebounceMs(); }
+    public double getTaskBudgetMs() { return snapshot.getTaskBudgetMs(); }
+    public int getAdminJobBudgetMs() { return snapshot.getAdminJobBudgetMs(); }
+    public boolean isSyncEnabled() { return snapshot.isSyncEnabled(); }
+    public String getSyncServerId() { return snapshot.getSyncServerId(); }
+    public String getSyncBus() { return snapshot.getSyncBus(); }
+    public String getSyncChannel() { return snapshot.getSyncChannel(); }
+    public int getSyncPublishInterval() { return snapshot.getSyncPublishInterval(); }
+    public String getSyncRedisHost() { return snapshot.getSyncRedisHost(); }
+    public int getSyncRedisPort() { return snapshot.getSyncRedisPort(); }
+    public String getSyncRedisPassword() { return snapshot.getSyncRedisPassword(); }
+    public Map<Integer, TierConfig> getTiers() { return snapshot.getTiers(); }
+    public TierConfig getTier(int tier) { return snapshot.getTier(tier); }
+    public int getHighestTier() { return snapshot.getHighestTier(); }
 
     /**
      * Get the next tier after the given tier, or null if at max
      */
     public TierConfig getNextTier(int currentTier) {
-        int nextTierNum = currentTier + 1;
-        return tiers.get(nextTierNum);
-    }
-
-    /**
-     * Get GUI configuration value
-     */
-    public String getGUITitle() {
-        return ChatColor.translateAlternateColorCodes('&',
-                config.getString("gui.title", "&8&lMoney Printer"));
-    }
-
-    public int getGUIRows() {
-        return Math.max(1, Math.min(6, config.getInt("gui.rows", 4)));
-    }
-
-    public Material getGUIFiller() {
-        String material = config.getString("gui.filler.material", "BLACK_STAINED_GLASS_PANE");
-        try {
-            return Material.valueOf(material.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            return Material.BLACK_STAINED_GLASS_PANE;
-        }
-    }
-
-    public String getGUIFillerName() {
-        return ChatColor.translateAlternateColorCodes('&',
-                config.getString("gui.filler.name", " "));
-    }
-
-    public int getButtonSlot(String button) {
-        return config.getInt("gui.buttons." + button + ".slot", 0);
-    }
-
-    public Material getButtonMaterial(String button) {
-        String material = config.getString("gui.buttons." + button + ".material", "PAPER");
-        try {
-            return Material.valueOf(material.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            return Material.PAPER;
-        }
-    }
-
-    public String getButtonName(String button, Map<String, String> placeholders) {
-        String name = config.getString("gui.buttons." + button + ".name", button);
-        name = ChatColor.translateAlternateColorCodes('&', name);
-
-        if (placeholders != null) {
-            for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-                name = name.replace("{" + entry.getKey() + "}", entry.getValue());
-            }
-        }
-
-        return name;
-    }
-
-    public List<String> getButtonLore(String button, Map<String, String> placeholders) {
-        List<String> lore = config.getStringList("gui.buttons." + button + ".lore");
-        List<String> coloredLore = new ArrayList<>();
-
-        for (String line : lore) {
-            line = ChatColor.translateAlternateColorCodes('&', line);
-            if (placeholders != null) {
-                for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-                    line = line.replace("{" + entry.getKey() + "}", entry.getValue());
-                }
-            }
-            coloredLore.add(line);
-        }
-
-        return coloredLore;
+        return snapshot.getNextTier(currentTier);
     }
 
     /**
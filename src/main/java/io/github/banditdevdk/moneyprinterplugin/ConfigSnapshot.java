@@ -0,0 +1,489 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.configuration.Configuration;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.*;
+
+/**
+ * Immutable, fully resolved view of config.yml.
+ *
+ * Everything is parsed once when the snapshot is compiled: tiers are an array indexed
+ * by tier number, GUI buttons are a slot to action table, materials are resolved and
+ * messages are colored. ConfigManager swaps snapshots atomically, so code that holds
+ * one sees a consistent config for as long as it needs.
+ */
+public final class ConfigSnapshot {
+    // Highest tier number that can be configured
+    static final int MAX_TIER = 1024;
+
+    /**
+     * Actions of the printer GUI buttons
+     */
+    public enum GuiAction {
+        STATUS("status"),
+        ADD_FUEL("add-fuel"),
+        COLLECT_MONEY("collect-money"),
+        UPGRADE("upgrade");
+
+        private final String key;
+
+        GuiAction(String key) {
+            this.key = key;
+        }
+
+        public String getKey() { return key; }
+    }
+
+    private final FileConfiguration config;
+
+    private final int maxPrintersPerPlayer;
+    private final List<String> disabledWorlds;
+    private final int nameCacheSize;
+    private final boolean fuelEnabled;
+    private final Material fuelMaterial;
+    private final int fuelMinutesPerItem;
+    private final int maxFuelMinutes;
+    private final int generationInterval;
+    private final double maxMoneyStorage;
+    private final boolean dormantCatchUp;
+    private final boolean notifyFuelEmpty;
+    private final boolean notifyStorageFull;
+    private final boolean notifyFuelEmptyOnLogin;
+    private final boolean auditEnabled;
+    private final int auditBufferSize;
+    private final int auditMaxFileSizeMb;
+    private final int auditMaxFiles;
+    private final String metricsFile;
+    private final int metricsExportInterval;
+    private final boolean metricsHttpEnabled;
+    private final String metricsHttpBind;
+    private final int metricsHttpPort;
+    private final boolean recorderEnabled;
+    private final boolean hologramsEnabled;
+    private final double hologramRadius;
+    private final double hologramHeight;
+    private final String hologramText;
+    private final boolean watchConfig;
+    private final double taskBudgetMs;
+    private final int adminJobBudgetMs;
+    private final boolean syncEnabled;
+    private final String syncServerId;
+    private final String syncBus;
+    private final String syncChannel;
+    private final int syncPublishInterval;
+    private final String syncRedisHost;
+    private final int syncRedisPort;
+    private final String syncRedisPassword;
+
+    private final Map<Integer, ConfigManager.TierConfig> tiers;
+    private final ConfigManager.TierConfig[] tiersByNumber;
+    private final int highestTier;
+
+    private final String guiTitle;
+    private final int guiRows;
+    private final Material guiFiller;
+    private final String guiFillerName;
+    private final int clickBurst;
+    private final double clicksPerSecond;
+    private final int clickDebounceMs;
+    private final Map<GuiAction, Button> buttons;
+    private final GuiAction[] slotActions;
+    private final Button maxTierButton;
+
+    private final Map<String, String> messages;
+
+    /**
+     * Compile a snapshot, adding anything invalid to problems. Invalid values fall
+     * back to defaults, so the snapshot is always usable.
+     */
+    static ConfigSnapshot compile(FileConfiguration config, List<String> problems) {
+        return new ConfigSnapshot(config, problems);
+    }
+
+    private ConfigSnapshot(FileConfiguration config, List<String> problems) {
+        this.config = config;
+
+        // General settings
+        maxPrintersPerPlayer = config.getInt("settings.max-printers-per-player", 1);
+        disabledWorlds = Collections.unmodifiableList(new ArrayList<>(config.getStringList("settings.disabled-worlds")));
+        nameCacheSize = config.getInt("settings.name-cache-size", 10000);
+        watchConfig = config.getBoolean("settings.watch-config", false);
+
+        // Fuel settings
+        fuelEnabled = config.getBoolean("fuel.enabled", true);
+        fuelMaterial = material(config.getString("fuel.material", "COAL"), Material.COAL, "fuel.material", problems);
+        fuelMinutesPerItem = config.getInt("fuel.minutes-per-item", 5);
+        maxFuelMinutes = config.getInt("fuel.max-fuel-minutes", 60);
+        if (fuelMinutesPerItem <= 0 || maxFuelMinutes <= 0) {
+            problems.add("fuel.minutes-per-item and fuel.max-fuel-minutes must be positive");
+        }
+
+        // Money settings
+        generationInterval = config.getInt("money.generation-interval", 5);
+        maxMoneyStorage = config.getDouble("money.max-storage", 10000.0);
+        String unloadedChunks = config.getString("money.unloaded-chunks", "catch-up");
+        if (!"pause".equalsIgnoreCase(unloadedChunks) && !"catch-up".equalsIgnoreCase(unloadedChunks)) {
+            problems.add("money.unloaded-chunks must be catch-up or pause, not " + unloadedChunks);
+        }
+        dormantCatchUp = !"pause".equalsIgnoreCase(unloadedChunks);
+        if (generationInterval <= 0) {
+            problems.add("money.generation-interval must be positive");
+        }
+
+        // Notification settings
+        notifyFuelEmpty = config.getBoolean("notifications.fuel-empty", true);
+        notifyStorageFull = config.getBoolean("notifications.storage-full", true);
+        notifyFuelEmptyOnLogin = config.getBoolean("notifications.fuel-empty-on-login", false);
+
+        // Audit settings (applied on restart)
+        auditEnabled = config.getBoolean("audit.enabled", true);
+        auditBufferSize = config.getInt("audit.buffer-size", 8192);
+        auditMaxFileSizeMb = config.getInt("audit.max-file-size-mb", 16);
+        auditMaxFiles = config.getInt("audit.max-files", 5);
+
+        // Metrics export settings (applied on restart)
+        metricsFile = config.getString("metrics.prometheus-file", "metrics.prom");
+        metricsExportInterval = config.getInt("metrics.export-interval-seconds", 15);
+        metricsHttpEnabled = config.getBoolean("metrics.http.enabled", false);
+        metricsHttpBind = config.getString("metrics.http.bind", "127.0.0.1");
+        metricsHttpPort = config.getInt("metrics.http.port", 9465);
+
+        // Event recorder settings (applied on restart)
+        recorderEnabled = config.getBoolean("recorder.enabled", false);
+
+        // Hologram settings
+        hologramsEnabled = config.getBoolean("holograms.enabled", true);
+        double radius = config.getDouble("holograms.radius", 16.0);
+        if (radius < 1 || radius > 128) {
+            problems.add("holograms.radius must be between 1 and 128, not " + radius);
+        }
+        hologramRadius = Math.max(1.0, Math.min(128.0, radius));
+        hologramHeight = config.getDouble("holograms.height", 0.9);
+        hologramText = String.join("\n", colorAll(config.getStringList("holograms.lines")));
+
+        // Performance settings
+        taskBudgetMs = Math.max(0.1, config.getDouble("performance.task-budget-ms", 2.0));
+        adminJobBudgetMs = Math.max(1, config.getInt("performance.admin-job-budget-ms", 5));
+
+        // Cross-server sync settings (applied on restart)
+        syncEnabled = config.getBoolean("sync.enabled", false);
+        syncServerId = config.getString("sync.server-id", "server-1");
+        syncBus = config.getString("sync.bus", "redis");
+        syncChannel = config.getString("sync.channel", "moneyprinter");
+        syncPublishInterval = config.getInt("sync.publish-interval", 5);
+        syncRedisHost = config.getString("sync.redis.host", "127.0.0.1");
+        syncRedisPort = config.getInt("sync.redis.port", 6379);
+        syncRedisPassword = config.getString("sync.redis.password", "");
+        if (syncServerId.isEmpty() || !syncServerId.matches("\\S+")) {
+            problems.add("sync.server-id must be a name without spaces, not '" + syncServerId + "'");
+        }
+        if (!"redis".equalsIgnoreCase(syncBus) && !"loopback".equalsIgnoreCase(syncBus)) {
+            problems.add("sync.bus must be redis or loopback, not " + syncBus);
+        }
+        if (syncPublishInterval < 1) {
+            problems.add("sync.publish-interval must be at least 1 second");
+        }
+
+        // Tiers
+        TreeMap<Integer, ConfigManager.TierConfig> compiledTiers = compileTiers(config, problems);
+        tiers = Collections.unmodifiableMap(compiledTiers);
+        highestTier = compiledTiers.lastKey();
+        tiersByNumber = new ConfigManager.TierConfig[highestTier + 1];
+        for (ConfigManager.TierConfig tier : compiledTiers.values()) {
+            tiersByNumber[tier.getTier()] = tier;
+        }
+
+        // GUI
+        guiTitle = color(config.getString("gui.title", "&8&lMoney Printer"));
+        int rows = config.getInt("gui.rows", 4);
+        if (rows < 1 || rows > 6) {
+            problems.add("gui.rows must be between 1 and 6, not " + rows);
+        }
+        guiRows = Math.max(1, Math.min(6, rows));
+        guiFiller = material(config.getString("gui.filler.material", "BLACK_STAINED_GLASS_PANE"),
+                Material.BLACK_STAINED_GLASS_PANE, "gui.filler.material", problems);
+        guiFillerName = color(config.getString("gui.filler.name", " "));
+        int burst = config.getInt("gui.click-limit.burst", 5);
+        if (burst < 1) {
+            problems.add("gui.click-limit.burst must be at least 1, not " + burst);
+        }
+        clickBurst = Math.max(1, burst);
+        double perSecond = config.getDouble("gui.click-limit.per-second", 4.0);
+        if (perSecond <= 0) {
+            problems.add("gui.click-limit.per-second must be positive, not " + perSecond);
+        }
+        clicksPerSecond = perSecond > 0 ? perSecond : 4.0;
+        clickDebounceMs = Math.max(0, config.getInt("gui.click-limit.debounce-ms", 150));
+
+        Map<GuiAction, Button> compiledButtons = new EnumMap<>(GuiAction.class);
+        slotActions = new GuiAction[guiRows * 9];
+        for (GuiAction action : GuiAction.values()) {
+            String path = "gui.buttons." + action.getKey();
+            int slot = config.getInt(path + ".slot", 0);
+            Button button = new Button(slot,
+                    material(config.getString(path + ".material", "PAPER"), Material.PAPER, path + ".material", problems),
+                    color(config.getString(path + ".name", action.getKey())),
+                    colorAll(config.getStringList(path + ".lore")));
+            compiledButtons.put(action, button);
+
+            if (slot < 0 || slot >= slotActions.length) {
+                problems.add(path + ".slot " + slot + " is outside the GUI (0-" + (slotActions.length - 1) + ")");
+            } else if (slotActions[slot] != null) {
+                problems.add(path + ".slot " + slot + " is already used by " + slotActions[slot].getKey());
+            } else {
+                slotActions[slot] = action;
+            }
+        }
+        buttons = Collections.unmodifiableMap(compiledButtons);
+        maxTierButton = new Button(compiledButtons.get(GuiAction.UPGRADE).getSlot(),
+                material(config.getString("gui.buttons.upgrade.max-tier-material", "BARRIER"), Material.BARRIER,
+                        "gui.buttons.upgrade.max-tier-material", problems),
+                color(config.getString("gui.buttons.upgrade.max-tier-name", "§c&lMax Tier Reached")),
+                colorAll(config.getStringList("gui.buttons.upgrade.max-tier-lore")));
+
+        // Messages, colored and with the prefix filled in
+        String prefix = color(config.getString("messages.prefix", ""));
+        Map<String, String> compiledMessages = new HashMap<>();
+        for (String key : messageKeys(config)) {
+            String message = config.getString("messages." + key);
+            if (message != null) {
+                compiledMessages.put(key, color(message).replace("{prefix}", prefix));
+            }
+        }
+        messages = Collections.unmodifiableMap(compiledMessages);
+    }
+
+    private static TreeMap<Integer, ConfigManager.TierConfig> compileTiers(FileConfiguration config, List<String> problems) {
+        TreeMap<Integer, ConfigManager.TierConfig> result = new TreeMap<>();
+        ConfigurationSection tiersSection = config.getConfigurationSection("tiers");
+
+        if (tiersSection == null) {
+            problems.add("No tiers configured, using defaults");
+            return createDefaultTiers();
+        }
+
+        for (String key : tiersSection.getKeys(false)) {
+            int tierNum;
+            try {
+                tierNum = Integer.parseInt(key);
+            } catch (NumberFormatException e) {
+                problems.add("Invalid tier number: " + key);
+                continue;
+            }
+            if (tierNum < 1 || tierNum > MAX_TIER) {
+                problems.add("Tier number must be between 1 and " + MAX_TIER + ": " + key);
+                continue;
+            }
+
+            String path = "tiers." + key;
+            String name = config.getString(path + ".name", "Tier " + tierNum);
+            String blockName = config.getString(path + ".block", "PLAYER_HEAD");
+            Material block = material(blockName, Material.PLAYER_HEAD, path + ".block", problems);
+            // Force PLAYER_HEAD - don't allow other block types
+            if (block != Material.PLAYER_HEAD) {
+                problems.add("Block type for tier " + tierNum + " must be PLAYER_HEAD, not " + blockName);
+                block = Material.PLAYER_HEAD;
+            }
+
+            String skullTexture = config.getString(path + ".skull-texture", "");
+            double earnings = config.getDouble(path + ".earnings", 10.0);
+            double upgradeCost = config.getDouble(path + ".upgrade-cost", 0.0);
+
+            result.put(tierNum, new ConfigManager.TierConfig(tierNum, name, block, skullTexture, earnings, upgradeCost));
+        }
+
+        if (result.isEmpty()) {
+            problems.add("No valid tiers configured, using defaults");
+            return createDefaultTiers();
+        }
+        return result;
+    }
+
+    /**
+     * Default tiers if none are configured
+     */
+    private static TreeMap<Integer, ConfigManager.TierConfig> createDefaultTiers() {
+        TreeMap<Integer, ConfigManager.TierConfig> defaults = new TreeMap<>();
+        defaults.put(1, new ConfigManager.TierConfig(1, "Iron Printer", Material.PLAYER_HEAD,
+                "http://textures.minecraft.net/texture/f8eecae423359d3f5efd1063a9a7bcfaa43839d75d3b223c808df7961dd173d0",
+                10.0, 0.0));
+        defaults.put(2, new ConfigManager.TierConfig(2, "Gold Printer", Material.PLAYER_HEAD,
+                "http://textures.minecraft.net/texture/6c07d48fd8764bc8d01a10cc6426578862090d9e856f3a8dd7f974a7521efc43",
+                20.0, 500.0));
+        defaults.put(3, new ConfigManager.TierConfig(3, "Diamond Printer", Material.PLAYER_HEAD,
+                "http://textures.minecraft.net/texture/666070ce03a545ee4d263bcf27f36338d249d7cb7a2376f92c1673ae134e04b6",
+                35.0, 1500.0));
+        return defaults;
+    }
+
+    /**
+     * Message keys in the config and in the bundled defaults
+     */
+    private static Set<String> messageKeys(FileConfiguration config) {
+        Set<String> keys = new HashSet<>();
+        ConfigurationSection section = config.getConfigurationSection("messages");
+        if (section != null) {
+            keys.addAll(section.getKeys(false));
+        }
+        Configuration defaults = config.getDefaults();
+        if (defaults != null && defaults.getConfigurationSection("messages") != null) {
+            keys.addAll(defaults.getConfigurationSection("messages").getKeys(false));
+        }
+        return keys;
+    }
+
+    private static Material material(String name, Material fallback, String path, List<String> problems) {
+        try {
+            return Material.valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            problems.add("Invalid material for " + path + ": " + name + ". Using " + fallback + ".");
+            return fallback;
+        }
+    }
+
+    static String color(String text) {
+        return ChatColor.translateAlternateColorCodes('&', text);
+    }
+
+    private static List<String> colorAll(List<String> lines) {
+        List<String> colored = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            colored.add(color(line));
+        }
+        return Collections.unmodifiableList(colored);
+    }
+
+    static String replace(String text, Map<String, String> placeholders) {
+        if (placeholders != null) {
+            for (Map.Entry<String, String> entry : placeholders.entrySet()) {
+                text = text.replace("{" + entry.getKey() + "}", entry.getValue());
+            }
+        }
+        return text;
+    }
+
+    /**
+     * Get a colored message, or the key itself if there is no such message
+     */
+    public String getMessage(String path) {
+        String message = messages.get(path);
+        return message != null ? message : color(path);
+    }
+
+    public String getMessage(String path, Map<String, String> placeholders) {
+        return replace(getMessage(path), placeholders);
+    }
+
+    // Getters
+    public FileConfiguration getConfig() { return config; }
+    public int getMaxPrintersPerPlayer() { return maxPrintersPerPlayer; }
+    public List<String> getDisabledWorlds() { return disabledWorlds; }
+    public int getNameCacheSize() { return nameCacheSize; }
+    public boolean isWatchConfig() { return watchConfig; }
+    public boolean isFuelEnabled() { return fuelEnabled; }
+    public Material getFuelMaterial() { return fuelMaterial; }
+    public int getFuelMinutesPerItem() { return fuelMinutesPerItem; }
+    public int getMaxFuelMinutes() { return maxFuelMinutes; }
+    public int getGenerationInterval() { return generationInterval; }
+    public double getMaxMoneyStorage() { return maxMoneyStorage; }
+    public boolean isDormantCatchUp() { return dormantCatchUp; }
+    public boolean shouldNotifyFuelEmpty() { return notifyFuelEmpty; }
+    public boolean shouldNotifyStorageFull() { return notifyStorageFull; }
+    public boolean shouldNotifyFuelEmptyOnLogin() { return notifyFuelEmptyOnLogin; }
+    public boolean isAuditEnabled() { return auditEnabled; }
+    public int getAuditBufferSize() { return auditBufferSize; }
+    public int getAuditMaxFileSizeMb() { return auditMaxFileSizeMb; }
+    public int getAuditMaxFiles() { return auditMaxFiles; }
+    public String getMetricsFile() { return metricsFile; }
+    public int getMetricsExportInterval() { return metricsExportInterval; }
+    public boolean isMetricsHttpEnabled() { return metricsHttpEnabled; }
+    public String getMetricsHttpBind() { return metricsHttpBind; }
+    public int getMetricsHttpPort() { return metricsHttpPort; }
+    public boolean isRecorderEnabled() { return recorderEnabled; }
+    public boolean isHologramsEnabled() { return hologramsEnabled; }
+    public double getHologramRadius() { return hologramRadius; }
+    public double getHologramHeight() { return hologramHeight; }
+
+    /**
+     * Get the hologram text with placeholders replaced, lines separated by \n
+     */
+    public String getHologramText(Map<String, String> placeholders) {
+        return replace(hologramText, placeholders);
+    }
+    public double getTaskBudgetMs() { return taskBudgetMs; }
+    public int getAdminJobBudgetMs() { return adminJobBudgetMs; }
+    public boolean isSyncEnabled() { return syncEnabled; }
+    public String getSyncServerId() { return syncServerId; }
+    public String getSyncBus() { return syncBus; }
+    public String getSyncChannel() { return syncChannel; }
+    public int getSyncPublishInterval() { return Math.max(1, syncPublishInterval); }
+    public String getSyncRedisHost() { return syncRedisHost; }
+    public int getSyncRedisPort() { return syncRedisPort; }
+    public String getSyncRedisPassword() { return syncRedisPassword; }
+
+    public Map<Integer, ConfigManager.TierConfig> getTiers() { return tiers; }
+    public ConfigManager.TierConfig getTier(int tier) {
+        return tier >= 0 && tier < tiersByNumber.length ? tiersByNumber[tier] : null;
+    }
+    public int getHighestTier() { return highestTier; }
+
+    /**
+     * Get the next tier after the given tier, or null if at max
+     */
+    public ConfigManager.TierConfig getNextTier(int currentTier) {
+        return getTier(currentTier + 1);
+    }
+
+    public String getGUITitle() { return guiTitle; }
+    public int getGUIRows() { return guiRows; }
+    public Material getGUIFiller() { return guiFiller; }
+    public String getGUIFillerName() { return guiFillerName; }
+    public int getClickBurst() { return clickBurst; }
+    public double getClicksPerSecond() { return clicksPerSecond; }
+    public int getClickDebounceMs() { return clickDebounceMs; }
+    public Button getButton(GuiAction action) { return buttons.get(action); }
+    public Button getMaxTierButton() { return maxTierButton; }
+
+    /**
+     * Get the action of a GUI slot, or null if the slot has no button
+     */
+    public GuiAction getSlotAction(int slot) {
+        return slot >= 0 && slot < slotActions.length ? slotActions[slot] : null;
+    }
+
+    /**
+     * A resolved GUI button
+     */
+    public static final class Button {
+        private final int slot;
+        private final Material material;
+        private final String name;
+        private final List<String> lore;
+
+        Button(int slot, Material material, String name, List<String> lore) {
+            this.slot = slot;
+            this.material = material;
+            this.name = name;
+            this.lore = lore;
+        }
+
+        public int getSlot() { return slot; }
+        public Material getMaterial() { return material; }
+
+        public String getName(Map<String, String> placeholders) {
+            return replace(name, placeholders);
+        }
+
+        public List<String> getLore(Map<String, String> placeholders) {
+            List<String> result = new ArrayList<>(lore.size());
+            for (String line : lore) {
+                result.add(replace(line, placeholders));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloads the config when config.yml changes on disk (settings.watch-config).
+ *
+ * Runs on its own thread. Editors often write a file in several steps, so changes
+ * are collected until the file has been quiet for a moment before reloading.
+ */
+public class ConfigWatcher {
+    private static final long QUIET_MILLIS = 500L;
+
+    private final MoneyPrinterPlugin plugin;
+    private final File file;
+    private WatchService watchService;
+    private Thread thread;
+
+    public ConfigWatcher(MoneyPrinterPlugin plugin, File file) {
+        this.plugin = plugin;
+        this.file = file;
+    }
+
+    public void start() {
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            file.getParentFile().toPath().register(watchService,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+        } catch (IOException e) {
+            plugin.getLogger().severe("Could not watch config.yml for changes!");
+            e.printStackTrace();
+            return;
+        }
+
+        thread = new Thread(this::watchLoop, "MoneyPrinter-ConfigWatcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void shutdown() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close(); // Wakes up the watcher thread
+        } catch (IOException e) {
+            // Nothing to do while shutting down
+        }
+        if (thread != null) {
+            try {
+                thread.join(1000L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+        watchService = null;
+    }
+
+    private void watchLoop() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = pollChanged(key);
+
+                // Wait until the file has been quiet before reloading
+                while (changed) {
+                    WatchKey next = watchService.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    pollChanged(next);
+                }
+
+                if (changed) {
+                    plugin.getLogger().info("config.yml changed, reloading...");
+                    plugin.getConfigManager().reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Shut down
+        }
+    }
+
+    /**
+     * Drain a key's events, returning whether any of them were for config.yml
+     */
+    private boolean pollChanged(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof Path && file.getName().equals(event.context().toString())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+}
@@ -0,0 +1,345 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.player.PlayerCommandPreprocessEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.inventory.ItemStack;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional recorder that captures the plugin-relevant event stream into a compact binary trace.
+ *
+ * On start, the loaded printers are written next to the trace as the starting state. The trace
+ * holds placements, breaks and interacts on player heads, printer GUI clicks and closes,
+ * /mp commands (with the block the player was looking at), printer task runs and the
+ * tick each record happened on. Records are encoded on the main thread into memory
+ * and appended to disk by a background writer once per second.
+ *
+ * Format: magic "MPTRACE1", then records starting with a type byte. Integers are
+ * varints (zigzag for coordinates); players and worlds are sent once and then
+ * referred to by id.
+ */
+public class EventRecorder implements Listener {
+    public static final long MAGIC = 0x4D50545241434531L; // "MPTRACE1"
+
+    // Record types
+    public static final int TICK = 1;
+    public static final int PLAYER = 2;
+    public static final int WORLD = 3;
+    public static final int PLACE = 4;
+    public static final int BREAK = 5;
+    public static final int INTERACT = 6;
+    public static final int CLICK = 7;
+    public static final int CLOSE = 8;
+    public static final int COMMAND = 9;
+    public static final int TASK = 10;
+
+    private final MoneyPrinterPlugin plugin;
+    private final Map<UUID, Integer> playerIds = new HashMap<>();
+    private final Map<String, Integer> worldIds = new HashMap<>();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "MoneyPrinter-TraceWriter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+    private final DataOutputStream out = new DataOutputStream(buffer);
+    private File traceFile;
+    private OutputStream fileOut;
+    private PrinterScheduler.Task flushTask;
+    private int lastTick;
+
+    public EventRecorder(MoneyPrinterPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Snapshot printer data and start recording
+     */
+    public void start() {
+        File directory = new File(plugin.getDataFolder(), "traces");
+        directory.mkdirs();
+        String name = "trace-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        traceFile = new File(directory, name + ".mptrace");
+
+        try {
+            plugin.getPrinterData().exportSnapshot(new File(directory, name + ".printers.yml"));
+            fileOut = new FileOutputStream(traceFile);
+            out.writeLong(MAGIC);
+        } catch (IOException e) {
+            plugin.getLogger().severe("Could not start event recorder!");
+            e.printStackTrace();
+            return;
+        }
+
+        lastTick = Bukkit.getCurrentTick();
+        flushTask = plugin.getPrinterScheduler().runTimer(this::flush, 20L, 20L);
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getLogger().info("Recording events to " + traceFile.getName());
+    }
+
+    /**
+     * Flush remaining records and close the trace
+     */
+    public void shutdown() {
+        if (flushTask == null) {
+            return;
+        }
+        flushTask.cancel();
+        flushTask = null;
+        flush();
+
+        writer.submit(() -> {
+            try {
+                fileOut.close();
+            } catch (IOException e) {
+                plugin.getLogger().severe("Could not close event trace!");
+                e.printStackTrace();
+            }
+        });
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Hand the records encoded so far to the background writer
+     */
+    private void flush() {
+        if (buffer.size() == 0) {
+            return;
+        }
+        byte[] bytes = buffer.toByteArray();
+        buffer.reset();
+
+        writer.execute(() -> {
+            try {
+                fileOut.write(bytes);
+                fileOut.flush();
+            } catch (IOException e) {
+                plugin.getLogger().warning("Could not write event trace: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Record that the printer task ran
+     */
+    public void recordTask() {
+        try {
+            beginRecord(TASK);
+        } catch (IOException e) {
+            // ByteArrayOutputStream does not throw
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        if (event.getBlockPlaced().getType() != Material.PLAYER_HEAD) {
+            return;
+        }
+        ItemStack item = event.getItemInHand();
+        String itemName = item != null && item.hasItemMeta() ? item.getItemMeta().getDisplayName() : "";
+
+        try {
+            int player = playerId(event.getPlayer());
+            int world = worldId(event.getBlockPlaced().getWorld());
+            beginRecord(PLACE);
+            writeVarInt(player);
+            writeLocation(world, event.getBlockPlaced().getLocation());
+            out.writeUTF(itemName != null ? itemName : "");
+        } catch (IOException e) {
+            // ByteArrayOutputStream does not throw
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onBlockBreak(BlockBreakEvent event) {
+        if (event.getBlock().getType() != Material.PLAYER_HEAD) {
+            return;
+        }
+        recordBlockAction(BREAK, event.getPlayer(), event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerInteract(PlayerInteractEvent event) {
+        if (event.getAction() != Action.RIGHT_CLICK_BLOCK || event.getClickedBlock() == null
+                || event.getClickedBlock().getType() != Material.PLAYER_HEAD) {
+            return;
+        }
+        recordBlockAction(INTERACT, event.getPlayer(), event.getClickedBlock());
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onInventoryClick(InventoryClickEvent event) {
+        if (!(event.getWhoClicked() instanceof Player) || !isPrinterGUI(event.getView().getTitle())) {
+            return;
+        }
+
+        try {
+            int player = playerId((Player) event.getWhoClicked());
+            beginRecord(CLICK);
+            writeVarInt(player);
+            writeVarInt(zigzag(event.getRawSlot())); // -999 when clicking outside the window
+            out.writeByte(event.getClick().ordinal());
+        } catch (IOException e) {
+            // ByteArrayOutputStream does not throw
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onInventoryClose(InventoryCloseEvent event) {
+        if (!(event.getPlayer() instanceof Player) || !isPrinterGUI(event.getView().getTitle())) {
+            return;
+        }
+
+        try {
+            int player = playerId((Player) event.getPlayer());
+            beginRecord(CLOSE);
+            writeVarInt(player);
+        } catch (IOException e) {
+            // ByteArrayOutputStream does not throw
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onCommand(PlayerCommandPreprocessEvent event) {
+        String message = event.getMessage();
+        String lower = message.toLowerCase();
+        if (!lower.startsWith("/mp") && !lower.startsWith("/moneyprinter")) {
+            return;
+        }
+
+        try {
+            int player = playerId(event.getPlayer());
+            Block target = event.getPlayer().getTargetBlockExact(5);
+            int world = target != null ? worldId(target.getWorld()) : 0;
+            beginRecord(COMMAND);
+            writeVarInt(player);
+            out.writeUTF(message.substring(1));
+            out.writeBoolean(target != null);
+            if (target != null) {
+                writeLocation(world, target.getLocation());
+            }
+        } catch (IOException e) {
+            // ByteArrayOutputStream does not throw
+        }
+    }
+
+    private void recordBlockAction(int type, Player player, Block block) {
+        try {
+            int id = playerId(player);
+            int world = worldId(block.getWorld());
+            beginRecord(type);
+            writeVarInt(id);
+            writeLocation(world, block.getLocation());
+        } catch (IOException e) {
+            // ByteArrayOutputStream does not throw
+        }
+    }
+
+    private boolean isPrinterGUI(String title) {
+        return title != null && title.replaceAll("§[0-9a-fk-or]", "").contains("Money Printer");
+    }
+
+    /**
+     * Write a tick marker if the server moved on since the last record, then the record type
+     */
+    private void beginRecord(int type) throws IOException {
+        int tick = Bukkit.getCurrentTick();
+        if (tick != lastTick) {
+            out.writeByte(TICK);
+            writeVarInt(tick - lastTick);
+            lastTick = tick;
+        }
+        out.writeByte(type);
+    }
+
+    /**
+     * Get the id of a player, defining it in the trace on first use
+     */
+    private int playerId(Player player) throws IOException {
+        Integer id = playerIds.get(player.getUniqueId());
+        if (id != null) {
+            return id;
+        }
+
+        id = playerIds.size();
+        playerIds.put(player.getUniqueId(), id);
+        beginRecord(PLAYER);
+        writeVarInt(id);
+        out.writeLong(player.getUniqueId().getMostSignificantBits());
+        out.writeLong(player.getUniqueId().getLeastSignificantBits());
+        out.writeUTF(player.getName());
+        out.writeBoolean(player.isOp());
+        return id;
+    }
+
+    /**
+     * Get the id of a world, defining it in the trace on first use
+     */
+    private int worldId(World world) throws IOException {
+        String worldName = world != null ? world.getName() : "";
+        Integer id = worldIds.get(worldName);
+        if (id != null) {
+            return id;
+        }
+
+        id = worldIds.size();
+        worldIds.put(worldName, id);
+        beginRecord(WORLD);
+        writeVarInt(id);
+        out.writeUTF(worldName);
+        return id;
+    }
+
+    private void writeLocation(int worldId, Location loc) throws IOException {
+        writeVarInt(worldId);
+        writeVarInt(zigzag(loc.getBlockX()));
+        writeVarInt(zigzag(loc.getBlockY()));
+        writeVarInt(zigzag(loc.getBlockZ()));
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+}
@@ -0,0 +1,74 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PrinterScheduler for Folia's region threaded scheduler
+ */
+public class FoliaPrinterScheduler implements PrinterScheduler {
+    // Folia runs async timers in real time; one tick is 50ms
+    private static final long MILLIS_PER_TICK = 50L;
+
+    private final MoneyPrinterPlugin plugin;
+
+    public FoliaPrinterScheduler(MoneyPrinterPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean isRegionThreaded() {
+        return true;
+    }
+
+    @Override
+    public Task runTimer(Runnable task, long delayTicks, long periodTicks) {
+        // Folia requires an initial delay of at least one tick
+        return Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, scheduled -> task.run(),
+                Math.max(1L, delayTicks), periodTicks)::cancel;
+    }
+
+    @Override
+    public void runGlobal(Runnable task) {
+        Bukkit.getGlobalRegionScheduler().execute(plugin, task);
+    }
+
+    @Override
+    public void runAt(Location location, Runnable task) {
+        if (Bukkit.isOwnedByCurrentRegion(location)) {
+            task.run();
+        } else {
+            Bukkit.getRegionScheduler().execute(plugin, location, task);
+        }
+    }
+
+    @Override
+    public void runForEntity(Entity entity, Runnable task, long delayTicks) {
+        if (delayTicks <= 0 && Bukkit.isOwnedByCurrentRegion(entity)) {
+            task.run();
+        } else {
+            // Dropped if the entity is removed before it runs
+            entity.getScheduler().execute(plugin, task, null, Math.max(1L, delayTicks));
+        }
+    }
+
+    @Override
+    public void runAsync(Runnable task) {
+        Bukkit.getAsyncScheduler().runNow(plugin, scheduled -> task.run());
+    }
+
+    @Override
+    public Task runAsyncTimer(Runnable task, long delayTicks, long periodTicks) {
+        return Bukkit.getAsyncScheduler().runAtFixedRate(plugin, scheduled -> task.run(),
+                Math.max(1L, delayTicks) * MILLIS_PER_TICK, periodTicks * MILLIS_PER_TICK, TimeUnit.MILLISECONDS)::cancel;
+    }
+
+    @Override
+    public void cancelAll() {
+        Bukkit.getGlobalRegionScheduler().cancelTasks(plugin);
+        Bukkit.getAsyncScheduler().cancelTasks(plugin);
+    }
+}
@@ -0,0 +1,393 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import org.bukkit.Location;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Owner leaderboards and a richest printers board, kept up to date as printers are added,
+ * removed, paid out and collected instead of being computed by scanning all printers.
+ *
+ * Each board is a sorted set of (value, owner) or (value, printer) ranks, so an update
+ * is O(log n) and reading the top N is O(N). Lifetime minted money is kept in
+ * leaderboards.yml; the other boards are rebuilt from printer data and only cover loaded
+ * worlds.
+ */
+public class Leaderboards {
+
+    public enum Board {
+        MONEY("Uncollected money"),
+        MINTED("Lifetime minted"),
+        PRINTERS("Printer count"),
+        TIER("Highest tier");
+
+        private final String displayName;
+
+        Board(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() { return displayName; }
+
+        /**
+         * Find a board by name, or null if there is none
+         */
+        public static Board fromName(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+
+    private final MoneyPrinterPlugin plugin;
+    private final File file;
+    private final Map<UUID, OwnerStats> stats = new HashMap<>();
+    private final Map<Board, TreeSet<Rank>> boards = new EnumMap<>(Board.class);
+    // Printers by uncollected money, and each printer's current entry
+    private final TreeSet<PrinterRank> richest = new TreeSet<>();
+    private final Map<Location, PrinterRank> printerRanks = new HashMap<>();
+    private boolean dirty;
+    // Owners whose money or printer count changed since the last drain; null unless tracked
+    private Set<UUID> changedOwners;
+
+    public Leaderboards(MoneyPrinterPlugin plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), "leaderboards.yml");
+        for (Board board : Board.values()) {
+            boards.put(board, new TreeSet<>());
+        }
+        load();
+    }
+
+    /**
+     * Get the top entries of a board, highest first
+     */
+    public synchronized List<Rank> getTop(Board board, int limit) {
+        List<Rank> result = new ArrayList<>(Math.min(limit, boards.get(board).size()));
+        Iterator<Rank> iterator = boards.get(board).iterator();
+        while (result.size() < limit && iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    /**
+     * Get the printers holding the most uncollected money, richest first
+     */
+    public synchronized List<PrinterRank> getRichestPrinters(int limit) {
+        List<PrinterRank> result = new ArrayList<>(Math.min(limit, richest.size()));
+        Iterator<PrinterRank> iterator = richest.iterator();
+        while (result.size() < limit && iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    /**
+     * Get an owner's value on a board
+     */
+    public synchronized double getValue(Board board, UUID owner) {
+        OwnerStats owned = stats.get(owner);
+        return owned != null ? owned.values[board.ordinal()] : 0;
+    }
+
+    /**
+     * Get an owner's 1-based position on a board, or 0 if they are not on it. Counts the
+     * entries ahead of the owner, so it costs O(position); fine for one lookup per command,
+     * not for ranking many owners.
+     */
+    public synchronized int getPosition(Board board, UUID owner) {
+        OwnerStats owned = stats.get(owner);
+        if (owned == null || owned.values[board.ordinal()] <= 0) {
+            return 0;
+        }
+        return boards.get(board).headSet(new Rank(owner, owned.values[board.ordinal()])).size() + 1;
+    }
+
+    /**
+     * Start collecting the owners whose money or printer count changes, for PrinterSync
+     */
+    synchronized void trackChanges() {
+        changedOwners = new HashSet<>(stats.keySet());
+    }
+
+    /**
+     * Get and reset the owners whose money or printer count changed
+     */
+    synchronized Set<UUID> drainChanged() {
+        Set<UUID> changed = changedOwners;
+        if (changed == null || changed.isEmpty()) {
+            return Collections.emptySet();
+        }
+        changedOwners = new HashSet<>();
+        return changed;
+    }
+
+    /**
+     * Mark owners changed again, e.g. after their summaries could not be published
+     */
+    synchronized void markChanged(Collection<UUID> owners) {
+        if (changedOwners != null) {
+            changedOwners.addAll(owners);
+        }
+    }
+
+    /**
+     * Mark every owner changed, so the next drain returns all of them
+     */
+    synchronized void markAllChanged() {
+        if (changedOwners != null) {
+            changedOwners.addAll(stats.keySet());
+        }
+    }
+
+    synchronized void printerAdded(UUID owner, Location loc, int tier, double earnings) {
+        updatePrinter(owner, loc, earnings);
+        OwnerStats owned = stats.computeIfAbsent(owner, uuid -> new OwnerStats());
+        owned.tiers.merge(tier, 1, Integer::sum);
+        update(owner, owned, Board.PRINTERS, owned.values[Board.PRINTERS.ordinal()] + 1);
+        update(owner, owned, Board.MONEY, owned.values[Board.MONEY.ordinal()] + earnings);
+        update(owner, owned, Board.TIER, owned.tiers.lastKey());
+    }
+
+    synchronized void printerRemoved(UUID owner, Location loc, int tier, double earnings) {
+        PrinterRank rank = loc != null ? printerRanks.remove(loc) : null;
+        if (rank != null) {
+            richest.remove(rank);
+        }
+        OwnerStats owned = stats.get(owner);
+        if (owned == null) {
+            return;
+        }
+        owned.tiers.computeIfPresent(tier, (key, count) -> count > 1 ? count - 1 : null);
+        update(owner, owned, Board.PRINTERS, owned.values[Board.PRINTERS.ordinal()] - 1);
+        update(owner, owned, Board.MONEY, owned.values[Board.MONEY.ordinal()] - earnings);
+        update(owner, owned, Board.TIER, owned.tiers.isEmpty() ? 0 : owned.tiers.lastKey());
+    }
+
+    synchronized void tierChanged(UUID owner, int oldTier, int newTier) {
+        OwnerStats owned = stats.get(owner);
+        if (owned == null || oldTier == newTier) {
+            return;
+        }
+        owned.tiers.computeIfPresent(oldTier, (key, count) -> count > 1 ? count - 1 : null);
+        owned.tiers.merge(newTier, 1, Integer::sum);
+        update(owner, owned, Board.TIER, owned.tiers.lastKey());
+    }
+
+    /**
+     * Record a change of a printer's stored earnings; minted is the part that was newly printed
+     */
+    synchronized void earningsChanged(UUID owner, Location loc, double delta, double minted) {
+        OwnerStats owned = stats.computeIfAbsent(owner, uuid -> new OwnerStats());
+        if (delta != 0) {
+            update(owner, owned, Board.MONEY, owned.values[Board.MONEY.ordinal()] + delta);
+            PrinterRank rank = loc != null ? printerRanks.get(loc) : null;
+            if (rank != null) {
+                updatePrinter(owner, loc, rank.value + delta);
+            }
+        }
+        if (minted > 0) {
+            update(owner, owned, Board.MINTED, owned.values[Board.MINTED.ordinal()] + minted);
+            dirty = true;
+        }
+    }
+
+    /**
+     * Forget everything except lifetime minted money, before printer data is reloaded
+     */
+    synchronized void clearPrinters() {
+        boards.get(Board.MONEY).clear();
+        boards.get(Board.PRINTERS).clear();
+        boards.get(Board.TIER).clear();
+        richest.clear();
+        printerRanks.clear();
+        for (OwnerStats owned : stats.values()) {
+            owned.tiers.clear();
+            owned.values[Board.MONEY.ordinal()] = 0;
+            owned.values[Board.PRINTERS.ordinal()] = 0;
+            owned.values[Board.TIER.ordinal()] = 0;
+        }
+    }
+
+    private void updatePrinter(UUID owner, Location loc, double value) {
+        if (loc == null) {
+            return;
+        }
+        PrinterRank old = printerRanks.remove(loc);
+        if (old != null) {
+            richest.remove(old);
+        }
+        // Sums of many small deltas drift slightly; an empty printer is kept at zero
+        PrinterRank rank = new PrinterRank(owner, loc, value < 1e-9 ? 0 : value);
+        printerRanks.put(loc, rank);
+        if (rank.value > 0) {
+            richest.add(rank);
+        }
+    }
+
+    private void update(UUID owner, OwnerStats owned, Board board, double value) {
+        // Sums of many small deltas drift slightly; never rank an owner below zero
+        if (value < 1e-9) {
+            value = 0;
+        }
+        TreeSet<Rank> ranks = boards.get(board);
+        double old = owned.values[board.ordinal()];
+        if (changedOwners != null && old != value && (board == Board.MONEY || board == Board.PRINTERS)) {
+            changedOwners.add(owner);
+        }
+        if (old > 0) {
+            ranks.remove(new Rank(owner, old));
+        }
+        owned.values[board.ordinal()] = value;
+        if (value > 0) {
+            ranks.add(new Rank(owner, value));
+        }
+    }
+
+    private void load() {
+        if (!file.exists()) {
+            return;
+        }
+
+        YamlConfiguration yaml = new YamlConfiguration();
+        try {
+            yaml.loadFromString(ShardFile.readAllowingLegacy(file));
+        } catch (IOException | InvalidConfigurationException e) {
+            plugin.getLogger().severe("Could not read leaderboards.yml!");
+            e.printStackTrace();
+            try {
+                plugin.getLogger().severe("Kept a copy as " + ShardFile.backupBroken(file).getName());
+            } catch (IOException backupError) {
+                plugin.getLogger().severe("Could not back up leaderboards.yml!");
+                backupError.printStackTrace();
+            }
+            return;
+        }
+
+        ConfigurationSection section = yaml.getConfigurationSection("minted");
+        if (section == null) {
+            return;
+        }
+        for (String key : section.getKeys(false)) {
+            try {
+                UUID owner = UUID.fromString(key);
+                update(owner, stats.computeIfAbsent(owner, uuid -> new OwnerStats()), Board.MINTED,
+                        section.getDouble(key));
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().warning("Invalid UUID in leaderboards.yml: " + key);
+            }
+        }
+    }
+
+    /**
+     * Save lifetime minted money if it changed since the last save. This is the only copy
+     * of those totals, so it is written crash-safely (see ShardFile); PrinterData calls it
+     * under its write lock so concurrent saves can't write an older copy last.
+     */
+    public void save() {
+        YamlConfiguration yaml = new YamlConfiguration();
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            for (Map.Entry<UUID, OwnerStats> entry : stats.entrySet()) {
+                double minted = entry.getValue().values[Board.MINTED.ordinal()];
+                if (minted > 0) {
+                    yaml.set("minted." + entry.getKey(), minted);
+                }
+            }
+            dirty = false;
+        }
+
+        try {
+            plugin.getDataFolder().mkdirs();
+            ShardFile.write(file, yaml.saveToString());
+        } catch (IOException e) {
+            plugin.getLogger().severe("Could not save leaderboards.yml!");
+            e.printStackTrace();
+            // Try again on the next save instead of waiting for the next mint
+            synchronized (this) {
+                dirty = true;
+            }
+        }
+    }
+
+    /**
+     * One owner's position on a board. Orders highest value first.
+     */
+    public static class Rank implements Comparable<Rank> {
+        public final UUID owner;
+        public final double value;
+
+        Rank(UUID owner, double value) {
+            this.owner = owner;
+            this.value = value;
+        }
+
+        @Override
+        public int compareTo(Rank other) {
+            int result = Double.compare(other.value, value);
+            return result != 0 ? result : owner.compareTo(other.owner);
+        }
+    }
+
+    /**
+     * One printer's position on the richest printers board. Orders highest value first.
+     */
+    public static class PrinterRank implements Comparable<PrinterRank> {
+        public final UUID owner;
+        public final Location location;
+        public final double value;
+
+        PrinterRank(UUID owner, Location location, double value) {
+            this.owner = owner;
+            this.location = location;
+            this.value = value;
+        }
+
+        @Override
+        public int compareTo(PrinterRank other) {
+            int result = Double.compare(other.value, value);
+            if (result == 0) {
+                result = location.getWorld().getName().compareTo(other.location.getWorld().getName());
+            }
+            if (result == 0) {
+                result = Integer.compare(location.getBlockX(), other.location.getBlockX());
+            }
+            if (result == 0) {
+                result = Integer.compare(location.getBlockY(), other.location.getBlockY());
+            }
+            return result != 0 ? result : Integer.compare(location.getBlockZ(), other.location.getBlockZ());
+        }
+    }
+
+    /**
+     * Running totals for one owner, indexed by board
+     */
+    private static class OwnerStats {
+        final double[] values = new double[Board.values().length];
+        // Printer count per tier, for the highest tier board
+        final TreeMap<Integer, Integer> tiers = new TreeMap<>();
+    }
+}
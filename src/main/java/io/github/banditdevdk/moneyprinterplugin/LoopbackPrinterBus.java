@@ -0,0 +1,94 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * In-process bus connecting every plugin instance in this JVM on the same channel.
+ * Used for testing several servers in one process; delivers on a separate thread
+ * like a real bus would.
+ */
+public class LoopbackPrinterBus implements PrinterBus {
+    private static final Map<String, List<LoopbackPrinterBus>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final String channel;
+    private final ExecutorService delivery = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "MoneyPrinter-LoopbackBus");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Consumer<String> listener;
+    private volatile Runnable connectListener;
+
+    public LoopbackPrinterBus(String channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void onConnect(Runnable listener) {
+        this.connectListener = listener;
+    }
+
+    @Override
+    public void onDropped(Consumer<String> listener) {
+        // Nothing is ever dropped in process
+    }
+
+    @Override
+    public void start() {
+        CHANNELS.computeIfAbsent(channel, name -> new CopyOnWriteArrayList<>()).add(this);
+        Runnable current = connectListener;
+        if (current != null) {
+            current.run();
+        }
+    }
+
+    @Override
+    public void publish(String message) {
+        List<LoopbackPrinterBus> buses = CHANNELS.get(channel);
+        if (buses == null) {
+            return;
+        }
+        for (LoopbackPrinterBus bus : buses) {
+            bus.deliver(message);
+        }
+    }
+
+    private void deliver(String message) {
+        Consumer<String> current = listener;
+        if (current == null) {
+            return;
+        }
+        try {
+            delivery.execute(() -> current.accept(message));
+        } catch (RejectedExecutionException e) {
+            // Closed
+        }
+    }
+
+    @Override
+    public void close() {
+        List<LoopbackPrinterBus> buses = CHANNELS.get(channel);
+        if (buses != null) {
+            buses.remove(this);
+        }
+        delivery.shutdown();
+        try {
+            delivery.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -4,13 +4,29 @@ import net.milkbowl.vault.economy.Economy;
 import org.bukkit.plugin.RegisteredServiceProvider;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
 public final class MoneyPrinterPlugin extends JavaPlugin {
 
     private static MoneyPrinterPlugin instance;
     private Economy economy;
     private ConfigManager configManager;
     private PrinterData printerData;
+    private PlayerNameCache nameCache;
+    private Leaderboards leaderboards;
     private PrinterGUI printerGUI;
+    private PrinterBrowserGUI printerBrowserGUI;
+    private PrinterDashboardGUI printerDashboardGUI;
+    private AdminJobs adminJobs;
+    private AuditLog auditLog;
+    private PrinterMetrics metrics;
+    private EventRecorder eventRecorder;
+    private PrinterSync printerSync;
+    private PrinterHolograms holograms;
+    private PrinterTask printerTask;
+    private PrinterScheduler printerScheduler;
 
     @Override
     public void onEnable() {
@@ -23,14 +39,42 @@ public final class MoneyPrinterPlugin extends JavaPlugin {
             return;
         }
 
+        // Pick the Paper or Folia scheduler
+        printerScheduler = PrinterScheduler.create(this);
+
         // Load configuration
         configManager = new ConfigManager(this);
 
+        // Create metrics registry before anything records into it
+        metrics = new PrinterMetrics(this);
+
+        // Start transaction audit log
+        auditLog = new AuditLog(this);
+        auditLog.start();
+
         // Initialize data management
+        nameCache = new PlayerNameCache(this);
+        leaderboards = new Leaderboards(this);
         printerData = new PrinterData(this);
 
+        // Make sure owner and friend names are cached before anything lists them
+        Set<UUID> knownPlayers = new HashSet<>();
+        for (PrinterData.PrinterInfo info : printerData.getAllPrinters().values()) {
+            knownPlayers.add(info.getOwner());
+            knownPlayers.addAll(info.getFriends());
+        }
+        nameCache.warm(knownPlayers);
+        getServer().getPluginManager().registerEvents(nameCache, this);
+
         // Initialize GUI system
         printerGUI = new PrinterGUI(this);
+        printerBrowserGUI = new PrinterBrowserGUI(this);
+        printerDashboardGUI = new PrinterDashboardGUI(this);
+        adminJobs = new AdminJobs(this);
+
+        // Status holograms for nearby players
+        holograms = new PrinterHolograms(this);
+        getServer().getPluginManager().registerEvents(holograms, this);
 
         // Register events
         getServer().getPluginManager().registerEvents(new PrinterEvents(this), this);
@@ -40,16 +84,68 @@ public final class MoneyPrinterPlugin extends JavaPlugin {
         getCommand("moneyprinter").setExecutor(commandExecutor);
 
         // Start printer task (runs every 10 seconds)
-        new PrinterTask(this).runTaskTimer(this, 200L, 200L); // 200 ticks = 10 seconds
+        printerTask = new PrinterTask(this);
+        printerTask.start();
+
+        // Start event recorder if enabled
+        if (configManager.isRecorderEnabled() && printerScheduler.isRegionThreaded()) {
+            getLogger().warning("The event recorder is not supported on Folia and stays disabled.");
+        } else if (configManager.isRecorderEnabled()) {
+            eventRecorder = new EventRecorder(this);
+            eventRecorder.start();
+        }
+
+        // Start metrics exporters
+        metrics.start();
+
+        // Share printer summaries with the other servers of the network
+        if (configManager.isSyncEnabled()) {
+            printerSync = new PrinterSync(this, PrinterBus.create(this));
+            printerSync.start();
+        }
+
+        // Reload config.yml when it changes, if enabled
+        configManager.startWatching();
 
         getLogger().info("MoneyPrinterPlugin enabled successfully!");
     }
 
     @Override
     public void onDisable() {
-        // Save all printer data
+        if (configManager != null) {
+            configManager.stopWatching();
+        }
+
+        if (metrics != null) {
+            metrics.shutdown();
+        }
+
+        if (printerSync != null) {
+            printerSync.shutdown();
+        }
+
+        if (holograms != null) {
+            holograms.shutdown();
+        }
+
+        // Save all printer data, including the time dormant printers were asleep
         if (printerData != null) {
-            printerData.saveData();
+            printerData.settleDormant();
+            printerData.saveNow();
+        }
+
+        // Close the event trace
+        if (eventRecorder != null) {
+            eventRecorder.shutdown();
+        }
+
+        // Flush remaining audit records
+        if (auditLog != null) {
+            auditLog.shutdown();
+        }
+
+        if (printerScheduler != null) {
+            printerScheduler.cancelAll();
         }
 
         getLogger().info("MoneyPrinterPlugin disabled!");
@@ -91,7 +187,61 @@ public final class MoneyPrinterPlugin extends JavaPlugin {
         return printerData;
     }
 
+    public PlayerNameCache getNameCache() {
+        return nameCache;
+    }
+
+    public Leaderboards getLeaderboards() {
+        return leaderboards;
+    }
+
     public PrinterGUI getPrinterGUI() {
         return printerGUI;
     }
+
+    public PrinterBrowserGUI getPrinterBrowserGUI() {
+        return printerBrowserGUI;
+    }
+
+    public PrinterDashboardGUI getPrinterDashboardGUI() {
+        return printerDashboardGUI;
+    }
+
+    public AdminJobs getAdminJobs() {
+        return adminJobs;
+    }
+
+    public AuditLog getAuditLog() {
+        return auditLog;
+    }
+
+    public PrinterMetrics getMetrics() {
+        return metrics;
+    }
+
+    public PrinterHolograms getHolograms() {
+        return holograms;
+    }
+
+    /**
+     * Get the cross-server sync, or null if sync is disabled
+     */
+    public PrinterSync getPrinterSync() {
+        return printerSync;
+    }
+
+    /**
+     * Get the event recorder, or null if recording is disabled
+     */
+    public EventRecorder getEventRecorder() {
+        return eventRecorder;
+    }
+
+    public PrinterTask getPrinterTask() {
+        return printerTask;
+    }
+
+    public PrinterScheduler getPrinterScheduler() {
+        return printerScheduler;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,219 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Bounded UUID to name cache for printer owners and friends.
+ *
+ * Loaded from names.yml, kept fresh by join events and saved alongside the printer
+ * data, so listing printers or friends never resolves offline players on the main
+ * thread. Unknown UUIDs are looked up in the background and show as a short UUID
+ * until then.
+ */
+public class PlayerNameCache implements Listener {
+    // How long a UUID the server has no name for is left alone before looking it up again
+    private static final long UNKNOWN_RETRY_MILLIS = 10 * 60 * 1000L;
+
+    private final MoneyPrinterPlugin plugin;
+    private final File file;
+    private final int maxSize;
+    private final LinkedHashMap<UUID, String> names;
+    private final Map<String, UUID> byName = new HashMap<>();
+    private final Set<UUID> pending = new HashSet<>();
+    // UUIDs whose lookup found no name, with the time they may be looked up again
+    private final Map<UUID, Long> unknown = new HashMap<>();
+    private boolean dirty;
+
+    public PlayerNameCache(MoneyPrinterPlugin plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), "names.yml");
+        this.maxSize = Math.max(100, plugin.getConfigManager().getNameCacheSize());
+        this.names = new LinkedHashMap<UUID, String>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, String> eldest) {
+                if (size() > maxSize) {
+                    byName.remove(eldest.getValue().toLowerCase(Locale.ROOT), eldest.getKey());
+                    return true;
+                }
+                return false;
+            }
+        };
+        load();
+    }
+
+    /**
+     * Get a player's name, or a short UUID while the name is being looked up
+     */
+    public synchronized String getName(UUID uuid) {
+        String name = names.get(uuid);
+        if (name != null) {
+            return name;
+        }
+
+        resolveLater(uuid);
+        return uuid.toString().substring(0, 8);
+    }
+
+    /**
+     * Get a cached player's UUID by name (case-insensitive), or null if unknown
+     */
+    public synchronized UUID getUniqueId(String name) {
+        return byName.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    public synchronized void put(UUID uuid, String name) {
+        if (name == null) {
+            return;
+        }
+        unknown.remove(uuid);
+        String previous = names.put(uuid, name);
+        if (!name.equals(previous)) {
+            if (previous != null) {
+                byName.remove(previous.toLowerCase(Locale.ROOT), uuid);
+            }
+            byName.put(name.toLowerCase(Locale.ROOT), uuid);
+            dirty = true;
+        }
+    }
+
+    /**
+     * Make sure names for these UUIDs are known, looking up missing ones in the background
+     */
+    public void warm(Iterable<UUID> uuids) {
+        List<UUID> missing = new ArrayList<>();
+        synchronized (this) {
+            for (UUID uuid : uuids) {
+                if (!names.containsKey(uuid) && !isKnownUnknown(uuid) && pending.add(uuid)) {
+                    missing.add(uuid);
+                }
+            }
+        }
+        if (!missing.isEmpty()) {
+            plugin.getPrinterScheduler().runAsync(() -> resolve(missing));
+        }
+    }
+
+    private void resolveLater(UUID uuid) {
+        if (!isKnownUnknown(uuid) && pending.add(uuid)) {
+            List<UUID> single = new ArrayList<>(1);
+            single.add(uuid);
+            plugin.getPrinterScheduler().runAsync(() -> resolve(single));
+        }
+    }
+
+    /**
+     * Resolve names from the server's player cache. Runs off the main thread.
+     */
+    private void resolve(List<UUID> uuids) {
+        for (UUID uuid : uuids) {
+            String name = Bukkit.getOfflinePlayer(uuid).getName();
+            synchronized (this) {
+                pending.remove(uuid);
+                if (name != null) {
+                    put(uuid, name);
+                } else {
+                    unknown.put(uuid, System.currentTimeMillis() + UNKNOWN_RETRY_MILLIS);
+                }
+            }
+        }
+    }
+
+    /**
+     * Check whether a recent lookup of a UUID found no name. Must hold the lock.
+     */
+    private boolean isKnownUnknown(UUID uuid) {
+        Long retryAt = unknown.get(uuid);
+        if (retryAt == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() >= retryAt) {
+            unknown.remove(uuid);
+            return false;
+        }
+        return true;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        put(player.getUniqueId(), player.getName());
+    }
+
+    private void load() {
+        if (!file.exists()) {
+            return;
+        }
+
+        YamlConfiguration yaml = new YamlConfiguration();
+        try {
+            yaml.loadFromString(ShardFile.readAllowingLegacy(file));
+        } catch (IOException | InvalidConfigurationException e) {
+            // Names are looked up again as they are needed
+            plugin.getLogger().warning("Could not read names.yml, starting empty: " + e.getMessage());
+            return;
+        }
+
+        ConfigurationSection section = yaml.getConfigurationSection("names");
+        if (section == null) {
+            return;
+        }
+        for (String key : section.getKeys(false)) {
+            try {
+                put(UUID.fromString(key), section.getString(key));
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().warning("Invalid UUID in names.yml: " + key);
+            }
+        }
+        dirty = false;
+    }
+
+    /**
+     * Save names if anything changed since the last save, crash-safely (see ShardFile).
+     * PrinterData calls it under its write lock so concurrent saves can't write an older
+     * copy last.
+     */
+    public void save() {
+        YamlConfiguration yaml = new YamlConfiguration();
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            for (Map.Entry<UUID, String> entry : names.entrySet()) {
+                yaml.set("names." + entry.getKey(), entry.getValue());
+            }
+            dirty = false;
+        }
+
+        try {
+            plugin.getDataFolder().mkdirs();
+            ShardFile.write(file, yaml.saveToString());
+        } catch (IOException e) {
+            plugin.getLogger().severe("Could not save names.yml!");
+            e.printStackTrace();
+            // Try again on the next save
+            synchronized (this) {
+                dirty = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Paginated admin GUI for browsing printers.
+ *
+ * The GUI keeps the filtered and sorted query result and only builds items for
+ * the page that is currently shown.
+ */
+public class PrinterBrowserGUI {
+    private static final int PAGE_SIZE = 45;
+    private static final int PREVIOUS_SLOT = 45;
+    private static final int INFO_SLOT = 49;
+    private static final int NEXT_SLOT = 53;
+
+    private final MoneyPrinterPlugin plugin;
+
+    public PrinterBrowserGUI(MoneyPrinterPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Open the browser on the given page of a query result
+     */
+    public void open(Player player, List<PrinterListQuery.Entry> entries, int page) {
+        Holder holder = new Holder(entries);
+        holder.inventory = Bukkit.createInventory(holder, 54, "§8§lPrinter Browser");
+        render(holder, page);
+        player.openInventory(holder.inventory);
+    }
+
+    /**
+     * Handle a click inside the browser
+     */
+    public void handleClick(Player player, Holder holder, int slot) {
+        if (slot == PREVIOUS_SLOT && holder.page > 0) {
+            render(holder, holder.page - 1);
+        } else if (slot == NEXT_SLOT && holder.page < holder.getPageCount() - 1) {
+            render(holder, holder.page + 1);
+        } else if (slot >= 0 && slot < PAGE_SIZE) {
+            int index = holder.page * PAGE_SIZE + slot;
+            if (index < holder.entries.size()) {
+                Location loc = holder.entries.get(index).toLocation();
+                if (loc.getWorld() == null) {
+                    player.sendMessage("§cThat printer's world is not loaded.");
+                    return;
+                }
+                player.closeInventory();
+                // Async teleport also works across regions on Folia
+                player.teleportAsync(loc.add(0.5, 1, 0.5));
+            }
+        }
+    }
+
+    /**
+     * Build the items for one page
+     */
+    private void render(Holder holder, int page) {
+        Inventory inv = holder.inventory;
+        holder.page = Math.max(0, Math.min(page, holder.getPageCount() - 1));
+        inv.clear();
+
+        ConfigManager config = plugin.getConfigManager();
+        int start = holder.page * PAGE_SIZE;
+        int end = Math.min(start + PAGE_SIZE, holder.entries.size());
+
+        for (int i = start; i < end; i++) {
+            PrinterListQuery.Entry entry = holder.entries.get(i);
+            ConfigManager.TierConfig tierConfig = config.getTier(entry.tier);
+            String owner = plugin.getNameCache().getName(entry.owner);
+
+            List<String> lore = new ArrayList<>();
+            lore.add("§7Owner: §f" + owner);
+            lore.add(String.format("§7Money: §6%.2f$", entry.earnings));
+            lore.add("§7Fuel: §f" + PrinterData.formatFuelTime(entry.fuelTime));
+            lore.add("§7Location: §f" + entry.world + " " + entry.x + ", " + entry.y + ", " + entry.z);
+            lore.add("");
+            lore.add("§eClick to teleport");
+
+            String name = "§a" + (tierConfig != null ? tierConfig.getName() : "Tier " + entry.tier);
+            inv.setItem(i - start, createItem(Material.PLAYER_HEAD, name, lore));
+        }
+
+        ItemStack filler = createItem(Material.GRAY_STAINED_GLASS_PANE, " ", null);
+        for (int slot = PAGE_SIZE; slot < 54; slot++) {
+            inv.setItem(slot, filler);
+        }
+        if (holder.page > 0) {
+            inv.setItem(PREVIOUS_SLOT, createItem(Material.ARROW, "§ePrevious page", null));
+        }
+        if (holder.page < holder.getPageCount() - 1) {
+            inv.setItem(NEXT_SLOT, createItem(Material.ARROW, "§eNext page", null));
+        }
+
+        List<String> info = new ArrayList<>();
+        info.add("§7Printers: §f" + holder.entries.size());
+        inv.setItem(INFO_SLOT, createItem(Material.BOOK,
+                "§2Page " + (holder.page + 1) + "/" + holder.getPageCount(), info));
+    }
+
+    private ItemStack createItem(Material material, String name, List<String> lore) {
+        ItemStack item = new ItemStack(material);
+        ItemMeta meta = item.getItemMeta();
+        if (meta != null) {
+            meta.setDisplayName(name);
+            if (lore != null && !lore.isEmpty()) {
+                meta.setLore(lore);
+            }
+            item.setItemMeta(meta);
+        }
+        return item;
+    }
+
+    /**
+     * Identifies browser inventories and holds their query result
+     */
+    public static class Holder implements InventoryHolder {
+        private final List<PrinterListQuery.Entry> entries;
+        private Inventory inventory;
+        private int page;
+
+        Holder(List<PrinterListQuery.Entry> entries) {
+            this.entries = entries;
+        }
+
+        int getPageCount() {
+            return Math.max(1, (entries.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+        }
+
+        @Override
+        public Inventory getInventory() {
+            return inventory;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import java.util.function.Consumer;
+
+/**
+ * Message bus connecting the servers of a network for PrinterSync.
+ *
+ * Messages are plain text published to every server on the configured channel,
+ * including the sender. Listeners are called on the bus's own thread.
+ */
+public interface PrinterBus {
+
+    /**
+     * Create the bus selected by sync.bus
+     */
+    static PrinterBus create(MoneyPrinterPlugin plugin) {
+        ConfigManager config = plugin.getConfigManager();
+        if ("loopback".equalsIgnoreCase(config.getSyncBus())) {
+            return new LoopbackPrinterBus(config.getSyncChannel());
+        }
+        return new RedisPrinterBus(plugin, config.getSyncRedisHost(), config.getSyncRedisPort(),
+                config.getSyncRedisPassword(), config.getSyncChannel());
+    }
+
+    /**
+     * Set the listener for incoming messages. Must be called before start.
+     */
+    void subscribe(Consumer<String> listener);
+
+    /**
+     * Set a listener called every time the bus connects, including reconnects. Messages
+     * from other servers may have been missed while disconnected. Must be called before start.
+     */
+    void onConnect(Runnable listener);
+
+    /**
+     * Set a listener for published messages that were dropped instead of delivered.
+     * Must be called before start.
+     */
+    void onDropped(Consumer<String> listener);
+
+    /**
+     * Connect and start delivering messages
+     */
+    void start();
+
+    /**
+     * Publish a message without blocking. Messages may be dropped while disconnected.
+     */
+    void publish(String message);
+
+    /**
+     * Disconnect, after trying to deliver messages that were already published
+     */
+    void close();
+}
@@ -3,7 +3,6 @@ package io.github.banditdevdk.moneyprinterplugin;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
-import org.bukkit.OfflinePlayer;
 import org.bukkit.block.Block;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -22,6 +21,12 @@ import java.util.*;
  * Handles /moneyprinter (/mp) commands
  */
 public class PrinterCommand implements CommandExecutor {
+    private static final int LIST_PAGE_SIZE = 10;
+    private static final int NEAR_DEFAULT_RADIUS = 64;
+    private static final int NEAR_MAX_RADIUS = 512;
+    // Width in blocks of the squares /mp near dense ranks
+    private static final int CLUSTER_SIZE = 64;
+
     private final MoneyPrinterPlugin plugin;
 
     public PrinterCommand(MoneyPrinterPlugin plugin) {
@@ -48,11 +53,29 @@ public class PrinterCommand implements CommandExecutor {
                 return handleGive(sender, args);
 
             case "list":
-                return handleList(sender);
+                return handleList(sender, args);
 
             case "reload":
                 return handleReload(sender);
 
+            case "stats":
+                return handleStats(sender);
+
+            case "top":
+                return handleTop(sender, args);
+
+            case "admin":
+                return handleAdmin(sender, args);
+
+            case "dashboard":
+                return handleDashboard(sender);
+
+            case "network":
+                return handleNetwork(sender, args);
+
+            case "near":
+                return handleNear(sender, args);
+
             case "addfriend":
             case "friend":
                 return handleAddFriend(sender, args);
@@ -82,12 +105,20 @@ public class PrinterCommand implements CommandExecutor {
         sender.sendMessage(config.getMessage("help-addfriend"));
         sender.sendMessage(config.getMessage("help-removefriend"));
         sender.sendMessage(config.getMessage("help-friends"));
+        sender.sendMessage(config.getMessage("help-top"));
+        sender.sendMessage(config.getMessage("help-dashboard"));
+        if (plugin.getPrinterSync() != null) {
+            sender.sendMessage(config.getMessage("help-network"));
+        }
 
         // Only show admin commands if player has permission
         if (sender.hasPermission("moneyprinter.admin")) {
             sender.sendMessage(config.getMessage("help-give"));
             sender.sendMessage(config.getMessage("help-list"));
+            sender.sendMessage(config.getMessage("help-near"));
             sender.sendMessage(config.getMessage("help-reload"));
+            sender.sendMessage(config.getMessage("help-stats"));
+            sender.sendMessage(config.getMessage("help-admin"));
         }
 
         sender.sendMessage(config.getMessage("help-footer"));
@@ -132,9 +163,11 @@ public class PrinterCommand implements CommandExecutor {
         }
 
         // Pay out remaining earnings
-        double earnings = printer.getEarnings();
+        double earnings = printer.takeEarnings();
         if (earnings > 0) {
             plugin.getEconomy().depositPlayer(player, earnings);
+            plugin.getAuditLog().record(AuditLog.REMOVE_PAYOUT, loc, printer.getOwner(), player.getUniqueId(),
+                    printer.getTier(), earnings);
         }
 
         // Get tier for the item
@@ -210,38 +243,304 @@ public class PrinterCommand implements CommandExecutor {
     }
 
     /**
-     * Handle /mp list command
+     * Handle /mp list command - filters and sorts a snapshot off the main thread
      */
-    private boolean handleList(CommandSender sender) {
+    private boolean handleList(CommandSender sender, String[] args) {
         if (!sender.hasPermission("moneyprinter.admin")) {
             sender.sendMessage("§cYou don't have permission to use this command.");
             return true;
         }
 
-        Map<Location, PrinterData.PrinterInfo> printers = plugin.getPrinterData().getAllPrinters();
+        PrinterListQuery query;
+        try {
+            query = PrinterListQuery.parse(args, 1, plugin.getNameCache());
+        } catch (IllegalArgumentException e) {
+            sender.sendMessage("§c" + e.getMessage());
+            sender.sendMessage(PrinterListQuery.USAGE);
+            return true;
+        }
 
-        if (printers.isEmpty()) {
-            sender.sendMessage("§cThere are no printers on the server.");
+        if (query.isGui() && !(sender instanceof Player)) {
+            sender.sendMessage("The printer browser can only be opened by players.");
             return true;
         }
 
-        sender.sendMessage("§8&m━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
-        sender.sendMessage("§2&lMoney Printer List");
-        sender.sendMessage("§8&m━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
-        for (Map.Entry<Location, PrinterData.PrinterInfo> entry : printers.entrySet()) {
-            Location loc = entry.getKey();
-            PrinterData.PrinterInfo printer = entry.getValue();
+        List<PrinterListQuery.Entry> snapshot = PrinterListQuery.snapshot(plugin.getPrinterData());
+        plugin.getPrinterScheduler().runAsync(() -> {
+            List<PrinterListQuery.Entry> result = query.apply(snapshot);
+            plugin.getPrinterScheduler().runForSender(sender, () -> {
+                if (query.isGui()) {
+                    Player player = (Player) sender;
+                    if (player.isOnline()) {
+                        plugin.getPrinterBrowserGUI().open(player, result, query.getPage() - 1);
+                    }
+                } else {
+                    sendListPage(sender, result, query.getPage());
+                }
+            });
+        });
+
+        return true;
+    }
+
+    /**
+     * Send one page of a /mp list result, resolving owner names for that page only
+     */
+    private void sendListPage(CommandSender sender, List<PrinterListQuery.Entry> result, int page) {
+        if (result.isEmpty()) {
+            sender.sendMessage("§cNo printers match.");
+            return;
+        }
+
+        int pages = (result.size() + LIST_PAGE_SIZE - 1) / LIST_PAGE_SIZE;
+        page = Math.min(page, pages);
+        int start = (page - 1) * LIST_PAGE_SIZE;
+        int end = Math.min(start + LIST_PAGE_SIZE, result.size());
+
+        sender.sendMessage("§8§m━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+        sender.sendMessage("§2§lMoney Printer List §7(page " + page + "/" + pages + ", " + result.size() + " printers)");
+        sender.sendMessage("§8§m━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+        for (int i = start; i < end; i++) {
+            PrinterListQuery.Entry entry = result.get(i);
+            String owner = plugin.getNameCache().getName(entry.owner);
+            ConfigManager.TierConfig tierConfig = plugin.getConfigManager().getTier(entry.tier);
+
+            sender.sendMessage(String.format("§7%d. §f%s §7| §a%s §7| §6%.2f$ §7| Fuel: §f%s §7| §f%s %d, %d, %d",
+                    i + 1, owner, tierConfig != null ? tierConfig.getName() : String.valueOf(entry.tier),
+                    entry.earnings, PrinterData.formatFuelTime(entry.fuelTime),
+                    entry.world, entry.x, entry.y, entry.z));
+        }
+        if (page < pages) {
+            sender.sendMessage("§7Use §f/moneyprinter list " + (page + 1) + " §7with the same filters for more.");
+        }
+    }
 
-            String owner = Bukkit.getOfflinePlayer(printer.getOwner()).getName();
+    /**
+     * Handle /mp near command - printers around the sender, or the densest areas of
+     * their world, looked up through the spatial index
+     */
+    private boolean handleNear(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("moneyprinter.admin")) {
+            sender.sendMessage("§cYou don't have permission to use this command.");
+            return true;
+        }
+        if (!(sender instanceof Player)) {
+            sender.sendMessage("This command can only be used by players.");
+            return true;
+        }
+
+        Player player = (Player) sender;
+        Location center = player.getLocation();
+        if (args.length >= 2 && args[1].equalsIgnoreCase("dense")) {
+            List<PrinterGrid.Cluster> clusters = plugin.getPrinterData()
+                    .getDensestClusters(center.getWorld(), CLUSTER_SIZE, LIST_PAGE_SIZE);
+            if (clusters.isEmpty()) {
+                player.sendMessage("§cNo printers in this world.");
+                return true;
+            }
+
+            player.sendMessage("§8§m━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+            player.sendMessage("§2§lDensest Printer Areas §7(" + CLUSTER_SIZE + "x" + CLUSTER_SIZE + " blocks)");
+            player.sendMessage("§8§m━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+            for (int i = 0; i < clusters.size(); i++) {
+                PrinterGrid.Cluster cluster = clusters.get(i);
+                player.sendMessage(String.format("§7%d. §f%d printers §7| §f%d, %d §7to §f%d, %d",
+                        i + 1, cluster.getPrinters(), cluster.getMinX(), cluster.getMinZ(),
+                        cluster.getMinX() + cluster.getSize() - 1, cluster.getMinZ() + cluster.getSize() - 1));
+            }
+            return true;
+        }
+
+        int radius = NEAR_DEFAULT_RADIUS;
+        if (args.length >= 2) {
+            try {
+                radius = Integer.parseInt(args[1]);
+            } catch (NumberFormatException e) {
+                radius = -1;
+            }
+            if (radius < 1 || radius > NEAR_MAX_RADIUS) {
+                player.sendMessage("§cUsage: /moneyprinter near [1-" + NEAR_MAX_RADIUS + "|dense]");
+                return true;
+            }
+        }
+
+        List<Location> near = plugin.getPrinterData().getPrintersNear(center, radius);
+        if (near.isEmpty()) {
+            player.sendMessage("§cNo printers within " + radius + " blocks.");
+            return true;
+        }
+        near.sort(Comparator.comparingDouble(loc -> distanceSquared(loc, center)));
+
+        player.sendMessage("§8§m━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+        player.sendMessage("§2§lNearby Printers §7(" + near.size() + " within " + radius + " blocks)");
+        player.sendMessage("§8§m━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+        for (int i = 0; i < Math.min(near.size(), LIST_PAGE_SIZE); i++) {
+            Location loc = near.get(i);
+            PrinterData.PrinterInfo printer = plugin.getPrinterData().getPrinter(loc);
+            if (printer == null) {
+                continue;
+            }
             ConfigManager.TierConfig tierConfig = plugin.getConfigManager().getTier(printer.getTier());
 
-            sender.sendMessage(String.format("§7Owner: §f%s §7| Tier: §a%s §7| Money: §6%.2f$ §7| Fuel: §f%s",
-                    owner, tierConfig.getName(), printer.getEarnings(), printer.getFormattedFuelTime()));
+            player.sendMessage(String.format("§7%d. §f%s §7| §a%s §7| §f%.0fm §7| §f%d, %d, %d",
+                    i + 1, plugin.getNameCache().getName(printer.getOwner()),
+                    tierConfig != null ? tierConfig.getName() : String.valueOf(printer.getTier()),
+                    Math.sqrt(distanceSquared(loc, center)), loc.getBlockX(), loc.getBlockY(), loc.getBlockZ()));
+        }
+        return true;
+    }
+
+    private static double distanceSquared(Location block, Location center) {
+        double dx = block.getBlockX() + 0.5 - center.getX();
+        double dy = block.getBlockY() + 0.5 - center.getY();
+        double dz = block.getBlockZ() + 0.5 - center.getZ();
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Handle /mp admin command - bulk jobs that run across ticks
+     */
+    private boolean handleAdmin(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("moneyprinter.admin")) {
+            sender.sendMessage("§cYou don't have permission to use this command.");
+            return true;
+        }
+
+        plugin.getAdminJobs().handle(sender, args);
+        return true;
+    }
+
+    /**
+     * Handle /mp top command - reads the incrementally kept leaderboards
+     */
+    private boolean handleTop(CommandSender sender, String[] args) {
+        Leaderboards.Board board = Leaderboards.Board.MONEY;
+        if (args.length >= 2) {
+            if (args[1].equalsIgnoreCase("richest")) {
+                return handleTopPrinters(sender);
+            }
+            board = Leaderboards.Board.fromName(args[1]);
+            if (board == null) {
+                sender.sendMessage("§cUsage: /moneyprinter top [money|minted|printers|tier|richest]");
+                return true;
+            }
+        }
+
+        List<Leaderboards.Rank> top = plugin.getLeaderboards().getTop(board, LIST_PAGE_SIZE);
+        if (top.isEmpty()) {
+            sender.sendMessage("§cNo printer owners on this leaderboard yet.");
+            return true;
+        }
+
+        sender.sendMessage("§8§m━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+        sender.sendMessage("§2§lTop Printer Owners §7(" + board.getDisplayName() + ")");
+        sender.sendMessage("§8§m━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+        for (int i = 0; i < top.size(); i++) {
+            Leaderboards.Rank rank = top.get(i);
+            sender.sendMessage("§7" + (i + 1) + ". §f" + plugin.getNameCache().getName(rank.owner)
+                    + " §7- " + formatRank(board, rank.value));
+        }
+
+        if (sender instanceof Player) {
+            UUID uuid = ((Player) sender).getUniqueId();
+            int position = plugin.getLeaderboards().getPosition(board, uuid);
+            if (position > LIST_PAGE_SIZE) {
+                sender.sendMessage("§7You: §f#" + position + " §7- "
+                        + formatRank(board, plugin.getLeaderboards().getValue(board, uuid)));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Handle /mp top richest - the printers holding the most uncollected money
+     */
+    private boolean handleTopPrinters(CommandSender sender) {
+        List<Leaderboards.PrinterRank> top = plugin.getLeaderboards().getRichestPrinters(LIST_PAGE_SIZE);
+        if (top.isEmpty()) {
+            sender.sendMessage("§cNo printers with money yet.");
+            return true;
+        }
+
+        sender.sendMessage("§8§m━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+        sender.sendMessage("§2§lRichest Printers");
+        sender.sendMessage("§8§m━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+        for (int i = 0; i < top.size(); i++) {
+            Leaderboards.PrinterRank rank = top.get(i);
+            Location loc = rank.location;
+            sender.sendMessage(String.format("§7%d. §f%s §7(%s %d, %d, %d) - §6%.2f$", i + 1,
+                    plugin.getNameCache().getName(rank.owner), loc.getWorld().getName(),
+                    loc.getBlockX(), loc.getBlockY(), loc.getBlockZ(), rank.value));
+        }
+        return true;
+    }
+
+    /**
+     * Handle /mp dashboard command - all of the player's printers in one GUI
+     */
+    private boolean handleDashboard(CommandSender sender) {
+        if (!(sender instanceof Player)) {
+            sender.sendMessage("This command can only be used by players.");
+            return true;
         }
 
+        plugin.getPrinterDashboardGUI().open((Player) sender);
         return true;
     }
 
+    /**
+     * Handle /mp network command - the player's printers across all servers
+     */
+    private boolean handleNetwork(CommandSender sender, String[] args) {
+        if (!(sender instanceof Player)) {
+            sender.sendMessage("This command can only be used by players.");
+            return true;
+        }
+
+        Player player = (Player) sender;
+        ConfigManager config = plugin.getConfigManager();
+        PrinterSync sync = plugin.getPrinterSync();
+        if (sync == null) {
+            player.sendMessage(config.getMessage("network-disabled"));
+            return true;
+        }
+
+        if (args.length >= 2 && args[1].equalsIgnoreCase("collect")) {
+            if (sync.requestCollect(player) == 0) {
+                player.sendMessage(config.getMessage("network-nothing"));
+            } else {
+                player.sendMessage(config.getMessage("network-collecting"));
+            }
+            return true;
+        }
+
+        UUID uuid = player.getUniqueId();
+        player.sendMessage("§8§m━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+        player.sendMessage("§2§lYour Printers §7(all servers)");
+        player.sendMessage("§8§m━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+        player.sendMessage(String.format("§a%s §7(here): §f%d printers §7- §6%.2f$", sync.getServerId(),
+                (int) plugin.getLeaderboards().getValue(Leaderboards.Board.PRINTERS, uuid),
+                plugin.getLeaderboards().getValue(Leaderboards.Board.MONEY, uuid)));
+        for (Map.Entry<String, PrinterSync.Summary> entry : sync.getRemoteSummaries(uuid).entrySet()) {
+            player.sendMessage(String.format("§e%s§7: §f%d printers §7- §6%.2f$", entry.getKey(),
+                    entry.getValue().getPrinters(), entry.getValue().getMoney()));
+        }
+        player.sendMessage("§7Use §f/moneyprinter network collect §7to collect from other servers.");
+        return true;
+    }
+
+    private String formatRank(Leaderboards.Board board, double value) {
+        switch (board) {
+            case PRINTERS:
+                return "§f" + (int) value + " printers";
+            case TIER:
+                ConfigManager.TierConfig tierConfig = plugin.getConfigManager().getTier((int) value);
+                return "§a" + (tierConfig != null ? tierConfig.getName() : "Tier " + (int) value);
+            default:
+                return String.format("§6%.2f$", value);
+        }
+    }
+
     /**
      * Handle /mp reload command
      */
@@ -251,12 +550,32 @@ public class PrinterCommand implements CommandExecutor {
             return true;
         }
 
-        plugin.getConfigManager().loadConfig();
+        List<String> problems = plugin.getConfigManager().reload();
+        if (!problems.isEmpty()) {
+            sender.sendMessage("§cConfiguration not reloaded, the current config stays active:");
+            for (String problem : problems) {
+                sender.sendMessage("§c - " + problem);
+            }
+            return true;
+        }
         sender.sendMessage("§aConfiguration reloaded successfully!");
 
         return true;
     }
 
+    /**
+     * Handle /mp stats command
+     */
+    private boolean handleStats(CommandSender sender) {
+        if (!sender.hasPermission("moneyprinter.admin")) {
+            sender.sendMessage("§cYou don't have permission to use this command.");
+            return true;
+        }
+
+        plugin.getMetrics().sendStats(sender);
+        return true;
+    }
+
     /**
      * Create a printer item with custom skull texture
      */
@@ -346,6 +665,7 @@ public class PrinterCommand implements CommandExecutor {
         }
 
         printer.addFriend(target.getUniqueId());
+        plugin.getNameCache().put(target.getUniqueId(), target.getName());
         plugin.getPrinterData().saveData();
 
         player.sendMessage("§a" + target.getName() + " added as a friend to this printer!");
@@ -370,12 +690,6 @@ public class PrinterCommand implements CommandExecutor {
             return true;
         }
 
-        OfflinePlayer target = Bukkit.getOfflinePlayer(args[1]);
-        if (!target.hasPlayedBefore()) {
-            player.sendMessage("§cPlayer not found.");
-            return true;
-        }
-
         Block block = player.getTargetBlockExact(5);
         if (block == null || block.getType() != Material.PLAYER_HEAD) {
             player.sendMessage("§cYou must be looking at a printer to remove friends.");
@@ -395,17 +709,40 @@ public class PrinterCommand implements CommandExecutor {
             return true;
         }
 
-        if (!printer.isFriend(target.getUniqueId())) {
-            player.sendMessage("§c" + target.getName() + " is not a friend of this printer!");
+        // Match the name against this printer's friends using the name cache
+        UUID targetId = null;
+        for (UUID friendUUID : printer.getFriends()) {
+            if (plugin.getNameCache().getName(friendUUID).equalsIgnoreCase(args[1])) {
+                targetId = friendUUID;
+                break;
+            }
+        }
+
+        // A friend whose name isn't cached yet: resolve the name instead
+        if (targetId == null) {
+            UUID resolved = plugin.getNameCache().getUniqueId(args[1]);
+            if (resolved == null) {
+                Player online = Bukkit.getPlayerExact(args[1]);
+                resolved = online != null ? online.getUniqueId() : null;
+            }
+            if (resolved != null && printer.isFriend(resolved)) {
+                targetId = resolved;
+            }
+        }
+
+        if (targetId == null) {
+            player.sendMessage("§c" + args[1] + " is not a friend of this printer!");
             return true;
         }
 
-        printer.removeFriend(target.getUniqueId());
+        String targetName = plugin.getNameCache().getName(targetId);
+        printer.removeFriend(targetId);
         plugin.getPrinterData().saveData();
 
-        player.sendMessage("§aRemoved " + target.getName() + " from this printer's friends!");
-        if (target.isOnline()) {
-            target.getPlayer().sendMessage("§c" + player.getName() + " removed you as a friend from their printer.");
+        player.sendMessage("§aRemoved " + targetName + " from this printer's friends!");
+        Player target = Bukkit.getPlayer(targetId);
+        if (target != null) {
+            target.sendMessage("§c" + player.getName() + " removed you as a friend from their printer.");
         }
 
         return true;
@@ -452,9 +789,8 @@ public class PrinterCommand implements CommandExecutor {
         player.sendMessage("§2&lPrinter Friends");
         player.sendMessage("§8&m━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
         for (UUID friendUUID : friends) {
-            OfflinePlayer friend = Bukkit.getOfflinePlayer(friendUUID);
-            String status = friend.isOnline() ? "§a●" : "§7●";
-            player.sendMessage(status + " §f" + friend.getName());
+            String status = Bukkit.getPlayer(friendUUID) != null ? "§a●" : "§7●";
+            player.sendMessage(status + " §f" + plugin.getNameCache().getName(friendUUID));
         }
 
         return true;
@@ -0,0 +1,285 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Paginated GUI listing all printers of the player, with buttons to collect from and
+ * refuel all of them at once.
+ *
+ * Bulk actions touch every printer but pay out in a single deposit, take fuel in a
+ * single inventory removal and save once, instead of once per printer.
+ */
+public class PrinterDashboardGUI {
+    private static final int PAGE_SIZE = 45;
+    private static final int PREVIOUS_SLOT = 45;
+    private static final int COLLECT_SLOT = 47;
+    private static final int INFO_SLOT = 49;
+    private static final int REFUEL_SLOT = 51;
+    private static final int NEXT_SLOT = 53;
+
+    private final MoneyPrinterPlugin plugin;
+
+    public PrinterDashboardGUI(MoneyPrinterPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Open the dashboard of the player's own printers
+     */
+    public void open(Player player) {
+        List<Location> owned = plugin.getPrinterData().getPrinterLocationsByOwner(player.getUniqueId());
+        if (owned.isEmpty()) {
+            player.sendMessage(plugin.getConfigManager().getMessage("dashboard-empty"));
+            return;
+        }
+        owned.sort(Comparator.comparing((Location loc) -> loc.getWorld().getName())
+                .thenComparingInt(Location::getBlockX)
+                .thenComparingInt(Location::getBlockZ)
+                .thenComparingInt(Location::getBlockY));
+
+        Holder holder = new Holder(player.getUniqueId(), owned);
+        holder.inventory = Bukkit.createInventory(holder, 54, "§8§lPrinter Dashboard");
+        render(holder, 0);
+        player.openInventory(holder.inventory);
+    }
+
+    /**
+     * Handle a click inside the dashboard
+     */
+    public void handleClick(Player player, Holder holder, int slot) {
+        if (slot == PREVIOUS_SLOT && holder.page > 0) {
+            render(holder, holder.page - 1);
+        } else if (slot == NEXT_SLOT && holder.page < holder.getPageCount() - 1) {
+            render(holder, holder.page + 1);
+        } else if (slot == COLLECT_SLOT) {
+            collectAll(player, holder);
+            render(holder, holder.page);
+        } else if (slot == REFUEL_SLOT) {
+            refuelAll(player, holder);
+            render(holder, holder.page);
+        }
+    }
+
+    /**
+     * Take the earnings of every printer and pay them out in one deposit
+     */
+    private void collectAll(Player player, Holder holder) {
+        ConfigManager config = plugin.getConfigManager();
+        double total = 0;
+        int collected = 0;
+        for (Location loc : holder.locations) {
+            PrinterData.PrinterInfo printer = plugin.getPrinterData().getPrinter(loc);
+            if (printer == null || !printer.getOwner().equals(holder.owner)) {
+                continue;
+            }
+            // Taken atomically, so a collect elsewhere at the same time can't pay twice
+            double earnings = printer.takeEarnings();
+            if (earnings > 0) {
+                total += earnings;
+                collected++;
+                plugin.getAuditLog().record(AuditLog.COLLECT, loc, holder.owner, player.getUniqueId(),
+                        printer.getTier(), earnings);
+            }
+        }
+
+        if (total <= 0) {
+            player.sendMessage(config.getMessage("dashboard-no-money"));
+            return;
+        }
+
+        plugin.getEconomy().depositPlayer(player, total);
+        plugin.getPrinterData().saveData();
+
+        Map<String, String> placeholders = new HashMap<>();
+        placeholders.put("amount", String.format("%.2f", total));
+        placeholders.put("printers", String.valueOf(collected));
+        player.sendMessage(config.getMessage("dashboard-collected", placeholders));
+    }
+
+    /**
+     * Spread the player's fuel over the printers, emptiest first, and take it from the
+     * inventory in one removal
+     */
+    private void refuelAll(Player player, Holder holder) {
+        ConfigManager config = plugin.getConfigManager();
+        if (!config.isFuelEnabled()) {
+            player.sendMessage("§cFuel is not required for this server!");
+            return;
+        }
+
+        Material fuelMaterial = config.getFuelMaterial();
+        int secondsPerItem = config.getFuelMinutesPerItem() * 60;
+        int maxSeconds = config.getMaxFuelMinutes() * 60;
+        if (secondsPerItem <= 0) {
+            return;
+        }
+
+        List<PrinterData.PrinterInfo> needFuel = new ArrayList<>();
+        for (Location loc : holder.locations) {
+            PrinterData.PrinterInfo printer = plugin.getPrinterData().getPrinter(loc);
+            if (printer != null && printer.getOwner().equals(holder.owner) && printer.getFuelTime() < maxSeconds) {
+                needFuel.add(printer);
+            }
+        }
+        if (needFuel.isEmpty()) {
+            player.sendMessage(config.getMessage("dashboard-fuel-full"));
+            return;
+        }
+
+        ItemStack fuelItem = new ItemStack(fuelMaterial, 1);
+        String fuelName = fuelMaterial.name().toLowerCase().replace("_", " ");
+        int available = 0;
+        for (ItemStack stack : player.getInventory().getContents()) {
+            if (stack != null && stack.isSimilar(fuelItem)) {
+                available += stack.getAmount();
+            }
+        }
+        if (available == 0) {
+            Map<String, String> placeholders = new HashMap<>();
+            placeholders.put("fuel", fuelName);
+            player.sendMessage(config.getMessage("no-fuel-item", placeholders));
+            return;
+        }
+
+        needFuel.sort(Comparator.comparingInt(PrinterData.PrinterInfo::getFuelTime));
+        int used = 0;
+        int refueled = 0;
+        for (PrinterData.PrinterInfo printer : needFuel) {
+            if (used == available) {
+                break;
+            }
+            int missing = maxSeconds - printer.getFuelTime();
+            int items = Math.min((missing + secondsPerItem - 1) / secondsPerItem, available - used);
+            // The printer may be ticking on another region thread; add in one locked step and
+            // only count the items whose fuel actually went in
+            int added = printer.addFuelTime(items * secondsPerItem, maxSeconds);
+            if (added > 0) {
+                used += Math.min(items, (added + secondsPerItem - 1) / secondsPerItem);
+                refueled++;
+            }
+        }
+        if (used == 0) {
+            player.sendMessage(config.getMessage("dashboard-fuel-full"));
+            return;
+        }
+
+        fuelItem.setAmount(used);
+        player.getInventory().removeItem(fuelItem);
+        plugin.getPrinterData().saveData();
+
+        Map<String, String> placeholders = new HashMap<>();
+        placeholders.put("items", String.valueOf(used));
+        placeholders.put("fuel", fuelName);
+        placeholders.put("printers", String.valueOf(refueled));
+        player.sendMessage(config.getMessage("dashboard-refueled", placeholders));
+    }
+
+    /**
+     * Build the items for one page
+     */
+    private void render(Holder holder, int page) {
+        Inventory inv = holder.inventory;
+        holder.page = Math.max(0, Math.min(page, holder.getPageCount() - 1));
+        inv.clear();
+
+        ConfigManager config = plugin.getConfigManager();
+        int start = holder.page * PAGE_SIZE;
+        int end = Math.min(start + PAGE_SIZE, holder.locations.size());
+
+        for (int i = start; i < end; i++) {
+            Location loc = holder.locations.get(i);
+            PrinterData.PrinterInfo printer = plugin.getPrinterData().getPrinter(loc);
+            if (printer == null || !printer.getOwner().equals(holder.owner)) {
+                inv.setItem(i - start, createItem(Material.BARRIER, "§cRemoved", null));
+                continue;
+            }
+            ConfigManager.TierConfig tierConfig = config.getTier(printer.getTier());
+
+            List<String> lore = new ArrayList<>();
+            lore.add(String.format("§7Money: §6%.2f$", printer.getEarnings()));
+            lore.add("§7Fuel: §f" + printer.getFormattedFuelTime());
+            lore.add("§7Location: §f" + loc.getWorld().getName() + " " + loc.getBlockX() + ", "
+                    + loc.getBlockY() + ", " + loc.getBlockZ());
+
+            String name = "§a" + (tierConfig != null ? tierConfig.getName() : "Tier " + printer.getTier());
+            inv.setItem(i - start, createItem(Material.PLAYER_HEAD, name, lore));
+        }
+
+        ItemStack filler = createItem(Material.GRAY_STAINED_GLASS_PANE, " ", null);
+        for (int slot = PAGE_SIZE; slot < 54; slot++) {
+            inv.setItem(slot, filler);
+        }
+        if (holder.page > 0) {
+            inv.setItem(PREVIOUS_SLOT, createItem(Material.ARROW, "§ePrevious page", null));
+        }
+        if (holder.page < holder.getPageCount() - 1) {
+            inv.setItem(NEXT_SLOT, createItem(Material.ARROW, "§eNext page", null));
+        }
+
+        List<String> collectLore = new ArrayList<>();
+        collectLore.add("§7Collect the money of all your printers");
+        inv.setItem(COLLECT_SLOT, createItem(Material.GOLD_INGOT, "§6§lCollect All", collectLore));
+        if (config.isFuelEnabled()) {
+            List<String> refuelLore = new ArrayList<>();
+            refuelLore.add("§7Fill up your printers with fuel");
+            refuelLore.add("§7from your inventory, emptiest first");
+            inv.setItem(REFUEL_SLOT, createItem(config.getFuelMaterial(), "§e§lRefuel All", refuelLore));
+        }
+
+        List<String> info = new ArrayList<>();
+        info.add("§7Printers: §f" + holder.locations.size());
+        inv.setItem(INFO_SLOT, createItem(Material.BOOK,
+                "§2Page " + (holder.page + 1) + "/" + holder.getPageCount(), info));
+    }
+
+    private ItemStack createItem(Material material, String name, List<String> lore) {
+        ItemStack item = new ItemStack(material);
+        ItemMeta meta = item.getItemMeta();
+        if (meta != null) {
+            meta.setDisplayName(name);
+            if (lore != null && !lore.isEmpty()) {
+                meta.setLore(lore);
+            }
+            item.setItemMeta(meta);
+        }
+        return item;
+    }
+
+    /**
+     * Identifies dashboard inventories and holds the printers they list
+     */
+    public static class Holder implements InventoryHolder {
+        private final UUID owner;
+        private final List<Location> locations;
+        private Inventory inventory;
+        private int page;
+
+        Holder(UUID owner, List<Location> locations) {
+            this.owner = owner;
+            this.locations = locations;
+        }
+
+        int getPageCount() {
+            return Math.max(1, (locations.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+        }
+
+        @Override
+        public Inventory getInventory() {
+            return inventory;
+        }
+    }
+}
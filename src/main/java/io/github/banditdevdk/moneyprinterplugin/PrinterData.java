@@ -1,24 +1,74 @@
 package io.github.banditdevdk.moneyprinterplugin;
 
+import org.bukkit.Chunk;
 import org.bukkit.Location;
-import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.World;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.YamlConfiguration;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.error.YAMLException;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.Collectors;
 
 /**
- * Manages all printer data storage and persistence
+ * Manages all printer data storage and persistence.
+ *
+ * Printer data is sharded per world and 512x512 block region in
+ * printers/<world>/r.<x>.<z>.yml. A printer marks its shard dirty when it changes and a
+ * save only rewrites dirty shards, each crash-safely (see ShardFile). Shards are rendered,
+ * written, fsynced and renamed on the async scheduler, so neither building the YAML nor
+ * disk latency stalls the server thread. A world's printers are only held in
+ * memory while the world is loaded; while it is not, only their counts per owner are
+ * kept (printers/<world>/owners.yml), so the printer limit still covers them. The
+ * registry is safe to use from several region threads on Folia.
  */
 public class PrinterData {
+    // Shards are 2^9 = 512 blocks wide
+    static final int SHARD_SHIFT = 9;
+    // Printer counts per owner of an unloaded world, next to its shards
+    private static final String OWNERS_FILE = "owners.yml";
+
     private final MoneyPrinterPlugin plugin;
-    private final Map<Location, PrinterInfo> printers = new HashMap<>();
-    private File dataFile;
-    private FileConfiguration dataConfig;
+    private final Map<Location, PrinterInfo> printers = new ConcurrentHashMap<>();
+    private final BlockPositionSet positions = new BlockPositionSet(); // Guarded by itself
+    // Printers in loaded chunks; only these are ticked by PrinterTask
+    private final Map<Location, PrinterInfo> activePrinters = new ConcurrentHashMap<>();
+    // Printer locations by world and chunk, for chunk loads and unloads and range queries
+    private final PrinterGrid grid = new PrinterGrid();
+    // Printer locations by owner, for per-owner lookups without scanning every printer
+    private final Map<UUID, Set<Location>> ownerIndex = new ConcurrentHashMap<>();
+    // Printer counts per owner by world, for worlds that are not loaded
+    private final Map<String, Map<UUID, Integer>> unloadedOwners = new ConcurrentHashMap<>();
+    // Storage shards by world name and shard key
+    private final Map<String, Map<Long, Shard>> shards = new ConcurrentHashMap<>();
+    // Worlds whose printers are in memory, by name
+    private final Set<String> loadedWorlds = ConcurrentHashMap.newKeySet();
+    private final Map<Location, PrinterInfo> allPrintersView = Collections.unmodifiableMap(printers);
+    private final Map<Location, PrinterInfo> activePrintersView = Collections.unmodifiableMap(activePrinters);
+    private final AtomicBoolean savePending = new AtomicBoolean();
+    // Guards the shard files and writtenSequences, so writes never interleave
+    private final Object writeLock = new Object();
+    // Sequence of the last write of each shard file, so an older render never replaces a newer one
+    private final Map<File, Long> writtenSequences = new HashMap<>();
+    private long writeSequence; // Guarded by this
+    private final File dataFolder;
 
     public PrinterData(MoneyPrinterPlugin plugin) {
         this.plugin = plugin;
+        this.dataFolder = new File(plugin.getDataFolder(), "printers");
         loadData();
     }
 
@@ -26,19 +76,82 @@ public class PrinterData {
      * Register a new printer
      */
     public void registerPrinter(Location loc, UUID owner, int tier) {
+        // Never save a world partition without its existing printers
+        if (!loadedWorlds.contains(loc.getWorld().getName())) {
+            loadWorld(loc.getWorld());
+        }
         PrinterInfo info = new PrinterInfo(owner, tier);
-        printers.put(loc, info);
+        addPrinter(loc, info, true);
         saveData();
     }
 
+    /**
+     * Add a printer without saving, for bulk loading. It starts dormant if its chunk is not loaded.
+     */
+    void putPrinter(Location loc, PrinterInfo info) {
+        addPrinter(loc, info, loc.getWorld().isChunkLoaded(loc.getBlockX() >> 4, loc.getBlockZ() >> 4));
+    }
+
+    private void addPrinter(Location loc, PrinterInfo info, boolean active) {
+        PrinterInfo previous = printers.put(loc, info);
+        if (previous != null && previous != info) {
+            previous.attach(null, null);
+            unindexOwner(previous.getOwner(), loc);
+        }
+        ownerIndex.computeIfAbsent(info.getOwner(), uuid -> ConcurrentHashMap.newKeySet()).add(loc);
+        info.attach(plugin.getLeaderboards(), loc);
+        Shard shard = getShard(loc);
+        shard.printers.add(loc);
+        info.setShard(shard);
+        if (previous == null) {
+            synchronized (positions) {
+                positions.add(loc.getBlockX(), loc.getBlockY(), loc.getBlockZ());
+            }
+            grid.add(loc);
+        }
+
+        if (active) {
+            info.setDormantSince(0);
+            info.setLastRun(0);
+            activePrinters.put(loc, info);
+        } else {
+            if (info.getDormantSince() == 0) {
+                info.setDormantSince(System.currentTimeMillis());
+            }
+            activePrinters.remove(loc);
+        }
+    }
+
     /**
      * Remove a printer
      */
     public void removePrinter(Location loc) {
-        printers.remove(loc);
+        unregisterPrinter(loc);
         saveData();
     }
 
+    /**
+     * Remove a printer without saving, for bulk changes followed by a single save
+     */
+    void unregisterPrinter(Location loc) {
+        PrinterInfo removed = printers.remove(loc);
+        if (removed != null) {
+            removed.attach(null, null);
+            unindexOwner(removed.getOwner(), loc);
+            Shard shard = getShard(loc);
+            shard.printers.remove(loc);
+            removed.setShard(null); // Marks the shard dirty so the printer is dropped from its file
+            if (plugin.getHolograms() != null) {
+                plugin.getHolograms().printerRemoved(loc);
+            }
+            synchronized (positions) {
+                positions.remove(loc.getBlockX(), loc.getBlockY(), loc.getBlockZ());
+            }
+            activePrinters.remove(loc);
+            grid.remove(loc);
+        }
+    }
+
     /**
      * Get printer info at location
      */
@@ -54,10 +167,179 @@ public class PrinterData {
     }
 
     /**
-     * Get all printers
+     * Quick allocation-free check whether any world has a printer at these coordinates.
+     * A true result still needs to be confirmed with isPrinter.
+     */
+    public boolean mayBePrinter(int x, int y, int z) {
+        synchronized (positions) {
+            return positions.contains(x, y, z);
+        }
+    }
+
+    /**
+     * Get a read-only live view of all printers. Iteration does not copy and is safe
+     * while printers are added or removed; it may or may not see those changes.
      */
     public Map<Location, PrinterInfo> getAllPrinters() {
-        return new HashMap<>(printers);
+        return allPrintersView;
+    }
+
+    /**
+     * Get a read-only live view of printers in loaded chunks, like getAllPrinters
+     */
+    public Map<Location, PrinterInfo> getActivePrinters() {
+        return activePrintersView;
+    }
+
+    public int getPrinterCount() {
+        return printers.size();
+    }
+
+    public int getDormantCount() {
+        return printers.size() - activePrinters.size();
+    }
+
+    /**
+     * Active printer locations grouped by chunk, so each group can be handed to the
+     * region thread owning it
+     */
+    public List<List<Location>> getActivePrintersByChunk() {
+        List<List<Location>> result = new ArrayList<>();
+        for (Set<Location> chunk : grid.getChunks()) {
+            List<Location> active = new ArrayList<>(chunk.size());
+            for (Location loc : chunk) {
+                if (activePrinters.containsKey(loc)) {
+                    active.add(loc);
+                }
+            }
+            if (!active.isEmpty()) {
+                result.add(active);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Wake the printers in a chunk that just loaded, settling the time they were dormant
+     */
+    public void chunkLoaded(Chunk chunk) {
+        Set<Location> locations = getChunkPrinters(chunk.getWorld().getName(), chunk.getX(), chunk.getZ());
+        if (locations == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        boolean catchUp = plugin.getConfigManager().isDormantCatchUp();
+        for (Location loc : locations) {
+            PrinterInfo info = printers.get(loc);
+            if (info == null) {
+                continue;
+            }
+            long dormantSince = info.getDormantSince();
+            long lastRun = 0;
+            if (dormantSince != 0 && catchUp && plugin.getPrinterTask() != null) {
+                long cycles = plugin.getPrinterTask().settle(loc, info, now - dormantSince);
+                // The part of a cycle left over is paid by the next task cycle
+                lastRun = dormantSince + cycles * PrinterTask.CYCLE_MILLIS;
+            }
+            info.setDormantSince(0);
+            info.setLastRun(lastRun);
+            activePrinters.put(loc, info);
+        }
+    }
+
+    /**
+     * Put the printers in an unloading chunk to sleep
+     */
+    public void chunkUnloaded(Chunk chunk) {
+        Set<Location> locations = getChunkPrinters(chunk.getWorld().getName(), chunk.getX(), chunk.getZ());
+        if (locations == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        for (Location loc : locations) {
+            PrinterInfo info = activePrinters.remove(loc);
+            if (info != null) {
+                info.setDormantSince(now);
+            }
+        }
+    }
+
+    /**
+     * Settle all dormant printers up to now, so saved data does not lose the time
+     * they were dormant. The printers stay dormant.
+     */
+    public void settleDormant() {
+        settleDormant(null);
+    }
+
+    private void settleDormant(String worldName) {
+        if (!plugin.getConfigManager().isDormantCatchUp() || plugin.getPrinterTask() == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Location, PrinterInfo> entry : printers.entrySet()) {
+            PrinterInfo info = entry.getValue();
+            if (info.getDormantSince() == 0
+                    || (worldName != null && !worldName.equals(entry.getKey().getWorld().getName()))) {
+                continue;
+            }
+            long cycles = plugin.getPrinterTask().settle(entry.getKey(), info, now - info.getDormantSince());
+            // Keep the part of a cycle left over for the next settle
+            info.setDormantSince(info.getDormantSince() + cycles * PrinterTask.CYCLE_MILLIS);
+        }
+    }
+
+    /**
+     * Get the printers within a radius of a location
+     */
+    public List<Location> getPrintersNear(Location center, double radius) {
+        return grid.near(center, radius);
+    }
+
+    /**
+     * Get the printers inside a box of blocks, bounds inclusive
+     */
+    public List<Location> getPrintersInRegion(World world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        return grid.inRegion(world, minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    /**
+     * Get the squares of a world with the most printers, densest first
+     */
+    public List<PrinterGrid.Cluster> getDensestClusters(World world, int size, int limit) {
+        return grid.densest(world, size, limit);
+    }
+
+    /**
+     * Get the printers in a chunk, or null if there are none
+     */
+    Set<Location> getChunkPrinters(String worldName, int chunkX, int chunkZ) {
+        return grid.getChunk(worldName, chunkX, chunkZ);
+    }
+
+    /**
+     * Get the storage shard of a location, creating it if needed
+     */
+    private Shard getShard(Location loc) {
+        String world = loc.getWorld().getName();
+        int shardX = loc.getBlockX() >> SHARD_SHIFT;
+        int shardZ = loc.getBlockZ() >> SHARD_SHIFT;
+        return shards.computeIfAbsent(world, name -> new ConcurrentHashMap<>())
+                .computeIfAbsent(PrinterGrid.key(shardX, shardZ), key -> new Shard(getShardFile(world, shardX, shardZ)));
+    }
+
+    /**
+     * Make the next save rewrite every shard, e.g. to measure a full save
+     */
+    void markAllDirty() {
+        for (Map<Long, Shard> worldShards : shards.values()) {
+            for (Shard shard : worldShards.values()) {
+                shard.markDirty();
+            }
+        }
     }
 
     /**
@@ -65,8 +347,9 @@ public class PrinterData {
      */
     public List<PrinterInfo> getPrintersByOwner(UUID owner) {
         List<PrinterInfo> result = new ArrayList<>();
-        for (PrinterInfo info : printers.values()) {
-            if (info.getOwner().equals(owner)) {
+        for (Location loc : getPrinterLocationsByOwner(owner)) {
+            PrinterInfo info = printers.get(loc);
+            if (info != null) {
                 result.add(info);
             }
         }
@@ -74,129 +357,802 @@ public class PrinterData {
     }
 
     /**
-     * Count printers owned by a player
+     * Get the locations of all printers owned by a player
+     */
+    public List<Location> getPrinterLocationsByOwner(UUID owner) {
+        Set<Location> owned = ownerIndex.get(owner);
+        return owned != null ? new ArrayList<>(owned) : new ArrayList<>();
+    }
+
+    /**
+     * Count printers owned by a player, including those in worlds that are not loaded
      */
     public int countPrintersByOwner(UUID owner) {
+        Set<Location> owned = ownerIndex.get(owner);
+        int count = owned != null ? owned.size() : 0;
+        for (Map<UUID, Integer> counts : unloadedOwners.values()) {
+            count += counts.getOrDefault(owner, 0);
+        }
+        return count;
+    }
+
+    private void unindexOwner(UUID owner, Location loc) {
+        ownerIndex.computeIfPresent(owner, (uuid, owned) -> {
+            owned.remove(loc);
+            return owned.isEmpty() ? null : owned;
+        });
+    }
+
+    /**
+     * Load data for all loaded worlds.
+     *
+     * Records are parsed in parallel; other worlds are loaded when they load (see loadWorld).
+     */
+    void loadData() {
+        PrinterLoadEvent loadEvent = new PrinterLoadEvent();
+        loadEvent.begin();
+        long startTime = System.nanoTime();
+
+        printers.clear();
+        plugin.getLeaderboards().clearPrinters();
+        synchronized (positions) {
+            positions.clear();
+        }
+        activePrinters.clear();
+        grid.clear();
+        ownerIndex.clear();
+        shards.clear();
+        loadedWorlds.clear();
+        unloadedOwners.clear();
+        dataFolder.mkdirs();
+        migrateLegacyFile();
+        migrateWorldFiles();
+
+        long bytes = 0;
+        for (World world : plugin.getServer().getWorlds()) {
+            readWorld(world);
+            for (File file : listShardFiles(world.getName())) {
+                bytes += file.length();
+            }
+        }
+        readUnloadedOwners();
+
+        long elapsed = System.nanoTime() - startTime;
+        PrinterMetrics metrics = plugin.getMetrics();
+        metrics.loadDuration.set(elapsed / 1_000_000_000.0);
+        metrics.worldsLoaded.set(loadedWorlds.size());
+
+        loadEvent.end();
+        if (loadEvent.shouldCommit()) {
+            loadEvent.printers = printers.size();
+            loadEvent.bytes = bytes;
+            loadEvent.commit();
+        }
+
+        plugin.getLogger().info("Loaded " + printers.size() + " printers in " + loadedWorlds.size()
+                + " worlds in " + (elapsed / 1_000_000) + "ms");
+    }
+
+    /**
+     * Load a world's printers when the world loads
+     */
+    public void loadWorld(World world) {
+        if (loadedWorlds.contains(world.getName())) {
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        int count = readWorld(world);
+        plugin.getMetrics().worldsLoaded.set(loadedWorlds.size());
+        if (count > 0) {
+            plugin.getLogger().info("Loaded " + count + " printers in world " + world.getName() + " in "
+                    + ((System.nanoTime() - startTime) / 1_000_000) + "ms");
+        }
+    }
+
+    /**
+     * Save a world's printers and drop them from memory when the world unloads
+     */
+    public void unloadWorld(World world) {
+        String name = world.getName();
+        if (!loadedWorlds.contains(name)) {
+            return;
+        }
+
+        settleDormant(name);
+        flush(collectWrites(Collections.singleton(name)));
+
         int count = 0;
-        for (PrinterInfo info : printers.values()) {
-            if (info.getOwner().equals(owner)) {
+        Map<UUID, Integer> owners = new HashMap<>();
+        Iterator<Map.Entry<Location, PrinterInfo>> iterator = printers.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Location, PrinterInfo> entry = iterator.next();
+            Location loc = entry.getKey();
+            if (name.equals(loc.getWorld().getName())) {
+                entry.getValue().attach(null, null);
+                synchronized (positions) {
+                    positions.remove(loc.getBlockX(), loc.getBlockY(), loc.getBlockZ());
+                }
+                activePrinters.remove(loc);
+                unindexOwner(entry.getValue().getOwner(), loc);
+                owners.merge(entry.getValue().getOwner(), 1, Integer::sum);
+                iterator.remove();
                 count++;
             }
         }
+        // Keep counting them toward the owners' limits
+        if (!owners.isEmpty()) {
+            unloadedOwners.put(name, owners);
+        }
+        writeOwnersFile(name, owners);
+        grid.removeWorld(name);
+        shards.remove(name);
+        loadedWorlds.remove(name);
+        plugin.getMetrics().worldsLoaded.set(loadedWorlds.size());
+
+        if (count > 0) {
+            plugin.getLogger().info("Unloaded " + count + " printers in world " + name);
+        }
+    }
+
+    public boolean isWorldLoaded(String worldName) {
+        return loadedWorlds.contains(worldName);
+    }
+
+    /**
+     * Read one world's shards into memory, returning the number of printers
+     */
+    private int readWorld(World world) {
+        String name = world.getName();
+        loadedWorlds.add(name);
+        // Its printers are counted from memory now; the file is written again on unload
+        unloadedOwners.remove(name);
+        new File(getWorldFolder(name), OWNERS_FILE).delete();
+
+        // A temp file is left behind if the server died mid-write; its shard is intact
+        File[] temps = getWorldFolder(name).listFiles((dir, file) -> file.endsWith(ShardFile.TEMP_SUFFIX));
+        if (temps != null) {
+            for (File temp : temps) {
+                temp.delete();
+            }
+        }
+
+        int count = 0;
+        for (File file : listShardFiles(name)) {
+            List<StoredPrinter> records = readPrinters(file, true);
+            if (records == null) {
+                quarantine(name, file);
+                continue;
+            }
+            for (StoredPrinter record : records) {
+                putPrinter(record.toLocation(world), record.info);
+            }
+            count += records.size();
+        }
+
+        // Freshly read shards match their files
+        Map<Long, Shard> worldShards = shards.get(name);
+        if (worldShards != null) {
+            for (Shard shard : worldShards.values()) {
+                shard.dirty = false;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Keep an unreadable shard from being overwritten. Printers placed in its region are
+     * kept in memory but not written until an admin releases it (see releaseQuarantine).
+     */
+    private void quarantine(String worldName, File file) {
+        String[] parts = file.getName().split("\\.");
+        int shardX;
+        int shardZ;
+        try {
+            shardX = Integer.parseInt(parts[1]);
+            shardZ = Integer.parseInt(parts[2]);
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            return; // Not a name we write to
+        }
+
+        Shard shard = new Shard(file);
+        shard.quarantined = true;
+        shards.computeIfAbsent(worldName, name -> new ConcurrentHashMap<>())
+                .put(PrinterGrid.key(shardX, shardZ), shard);
+        plugin.getLogger().severe("Quarantined printers/" + worldName + "/" + file.getName()
+                + "; it will not be saved until released with /mp admin quarantine release");
+    }
+
+    /**
+     * Get the files of the quarantined shards of all loaded worlds
+     */
+    public List<File> getQuarantinedShards() {
+        List<File> result = new ArrayList<>();
+        for (Map<Long, Shard> worldShards : shards.values()) {
+            for (Shard shard : worldShards.values()) {
+                if (shard.quarantined) {
+                    result.add(shard.file);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Release a quarantined shard so it is saved again. If its file is readable by now, its
+     * printers are read back first; printers placed in the region since take precedence.
+     * Returns the number of printers read back.
+     */
+    public synchronized int releaseQuarantine(String worldName, String fileName) {
+        World world = plugin.getServer().getWorld(worldName);
+        Map<Long, Shard> worldShards = shards.get(worldName);
+        Shard shard = null;
+        if (world != null && worldShards != null) {
+            for (Shard candidate : worldShards.values()) {
+                if (candidate.quarantined && candidate.file.getName().equals(fileName)) {
+                    shard = candidate;
+                    break;
+                }
+            }
+        }
+        if (shard == null) {
+            throw new IllegalArgumentException("No quarantined shard " + worldName + "/" + fileName + ".");
+        }
+
+        int count = 0;
+        if (shard.file.exists()) {
+            List<StoredPrinter> records = readPrinters(shard.file, true);
+            if (records == null) {
+                throw new IllegalArgumentException(worldName + "/" + fileName
+                        + " is still unreadable. Repair or remove it first.");
+            }
+            for (StoredPrinter record : records) {
+                Location loc = record.toLocation(world);
+                if (!printers.containsKey(loc)) {
+                    putPrinter(loc, record.info);
+                    count++;
+                }
+            }
+        }
+
+        shard.quarantined = false;
+        shard.markDirty();
+        saveData();
+        plugin.getLogger().info("Released printers/" + worldName + "/" + fileName + ", read back " + count
+                + " printers");
         return count;
     }
 
     /**
-     * Load data from file
+     * Read the printer counts per owner of the worlds that are not loaded. A world without
+     * an owners file, e.g. after a crash while it was loaded, has its shards counted once.
+     */
+    private void readUnloadedOwners() {
+        File[] folders = dataFolder.listFiles(File::isDirectory);
+        if (folders == null) {
+            return;
+        }
+
+        for (File folder : folders) {
+            String name = folder.getName();
+            if (loadedWorlds.contains(name)) {
+                continue;
+            }
+
+            Map<UUID, Integer> counts = readOwnersFile(name);
+            if (counts == null) {
+                counts = new HashMap<>();
+                for (File file : listShardFiles(name)) {
+                    List<StoredPrinter> records = readPrinters(file, true);
+                    if (records != null) {
+                        for (StoredPrinter record : records) {
+                            counts.merge(record.info.getOwner(), 1, Integer::sum);
+                        }
+                    }
+                }
+                writeOwnersFile(name, counts);
+            }
+            if (!counts.isEmpty()) {
+                unloadedOwners.put(name, counts);
+            }
+        }
+    }
+
+    /**
+     * Read the owners file of a world, or return null if it is missing or unreadable
      */
-    private void loadData() {
-        dataFile = new File(plugin.getDataFolder(), "printers.yml");
-        if (!dataFile.exists()) {
-            plugin.getDataFolder().mkdirs();
+    private Map<UUID, Integer> readOwnersFile(String worldName) {
+        File file = new File(getWorldFolder(worldName), OWNERS_FILE);
+        if (!file.exists()) {
+            return null;
+        }
+
+        YamlConfiguration config = new YamlConfiguration();
+        try {
+            config.loadFromString(ShardFile.read(file));
+        } catch (IOException | InvalidConfigurationException e) {
+            plugin.getLogger().warning("Could not read printers/" + worldName + "/" + OWNERS_FILE
+                    + ", counting its shards instead: " + e.getMessage());
+            return null;
+        }
+
+        Map<UUID, Integer> counts = new HashMap<>();
+        for (String key : config.getKeys(false)) {
             try {
-                dataFile.createNewFile();
-            } catch (IOException e) {
-                plugin.getLogger().severe("Could not create printers.yml!");
-                e.printStackTrace();
-            }
-        }
-        dataConfig = YamlConfiguration.loadConfiguration(dataFile);
-
-        // Load printers from config
-        if (dataConfig.contains("printers")) {
-            for (String key : dataConfig.getConfigurationSection("printers").getKeys(false)) {
-                String path = "printers." + key;
-
-                // Parse location from key (world_x_y_z)
-                String[] parts = key.split("_");
-                if (parts.length != 4) continue;
-
-                Location loc = new Location(
-                        plugin.getServer().getWorld(parts[0]),
-                        Double.parseDouble(parts[1]),
-                        Double.parseDouble(parts[2]),
-                        Double.parseDouble(parts[3])
-                );
-
-                UUID owner = UUID.fromString(dataConfig.getString(path + ".owner"));
-                int tier = dataConfig.getInt(path + ".tier", 1);
-                int fuelTime = dataConfig.getInt(path + ".fuelTime", 0);
-                int fuelTicks = dataConfig.getInt(path + ".fuelTicks", 0);
-                double earnings = dataConfig.getDouble(path + ".earnings", 0.0);
-                List<String> friendUUIDs = dataConfig.getStringList(path + ".friends");
-
-                PrinterInfo info = new PrinterInfo(owner, tier);
-                info.setFuelTime(fuelTime);
-                info.setFuelTicks(fuelTicks);
-                info.setEarnings(earnings);
-
-                // Load friends
-                for (String friendUUID : friendUUIDs) {
+                counts.put(UUID.fromString(key), config.getInt(key));
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().warning("Invalid owner UUID in printers/" + worldName + "/" + OWNERS_FILE + ": " + key);
+            }
+        }
+        return counts;
+    }
+
+    private void writeOwnersFile(String worldName, Map<UUID, Integer> counts) {
+        File file = new File(getWorldFolder(worldName), OWNERS_FILE);
+        try {
+            if (counts.isEmpty()) {
+                Files.deleteIfExists(file.toPath());
+                return;
+            }
+            YamlConfiguration config = new YamlConfiguration();
+            for (Map.Entry<UUID, Integer> entry : counts.entrySet()) {
+                config.set(entry.getKey().toString(), entry.getValue());
+            }
+            file.getParentFile().mkdirs();
+            ShardFile.write(file, config.saveToString());
+        } catch (IOException e) {
+            plugin.getLogger().severe("Could not save printers/" + worldName + "/" + OWNERS_FILE + "!");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Split a single printers.yml from older versions into shards
+     */
+    private void migrateLegacyFile() {
+        File legacy = new File(plugin.getDataFolder(), "printers.yml");
+        if (legacy.exists()) {
+            migrateFile(legacy, new File(plugin.getDataFolder(), "printers.yml.migrated"));
+        }
+    }
+
+    /**
+     * Split per-world printers/<world>.yml files from older versions into shards
+     */
+    private void migrateWorldFiles() {
+        File[] files = dataFolder.listFiles((dir, name) -> name.endsWith(".yml"));
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            migrateFile(file, new File(dataFolder, file.getName() + ".migrated"));
+        }
+    }
+
+    /**
+     * Write the printers of an old data file into shards and move the file out of the way.
+     * Runs before any world is read, so the shards it rewrites are not in memory. Shards
+     * that already exist, e.g. from an interrupted migration or an old file restored from
+     * a backup, are merged: their printers are newer and win over the old file's.
+     */
+    private void migrateFile(File file, File migrated) {
+        List<StoredPrinter> records = readPrinters(file, false);
+        if (records == null) {
+            return;
+        }
+
+        Map<File, YamlConfiguration> partitions = new HashMap<>();
+        Map<File, Set<String>> keys = new HashMap<>();
+        for (StoredPrinter record : records) {
+            File shardFile = getShardFile(record.world, record.x >> SHARD_SHIFT, record.z >> SHARD_SHIFT);
+            YamlConfiguration partition = partitions.get(shardFile);
+            Set<String> written = keys.get(shardFile);
+            if (partition == null) {
+                partition = new YamlConfiguration();
+                written = new HashSet<>();
+                if (shardFile.exists()) {
+                    List<StoredPrinter> existing = readPrinters(shardFile, true);
+                    if (existing == null) {
+                        // Leave the old file in place and retry on the next start
+                        plugin.getLogger().severe("Not migrating " + file.getName() + ": printers/" + record.world
+                                + "/" + shardFile.getName() + " is unreadable");
+                        return;
+                    }
+                    for (StoredPrinter stored : existing) {
+                        writePrinter(partition, stored.key(), stored.info);
+                        written.add(stored.key());
+                    }
+                }
+                partitions.put(shardFile, partition);
+                keys.put(shardFile, written);
+            }
+            if (written.add(record.key())) {
+                writePrinter(partition, record.key(), record.info);
+            }
+        }
+        try {
+            for (Map.Entry<File, YamlConfiguration> partition : partitions.entrySet()) {
+                partition.getKey().getParentFile().mkdirs();
+                ShardFile.write(partition.getKey(), partition.getValue().saveToString());
+            }
+            Files.move(file.toPath(), migrated.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            plugin.getLogger().severe("Could not migrate " + file.getName() + " to shard files!");
+            e.printStackTrace();
+            return;
+        }
+
+        plugin.getLogger().info("Migrated " + records.size() + " printers from " + file.getName() + " into "
+                + partitions.size() + " shard files");
+    }
+
+    private File getWorldFolder(String worldName) {
+        return new File(dataFolder, worldName);
+    }
+
+    private File getShardFile(String worldName, int shardX, int shardZ) {
+        return new File(getWorldFolder(worldName), "r." + shardX + "." + shardZ + ".yml");
+    }
+
+    private File[] listShardFiles(String worldName) {
+        File[] files = getWorldFolder(worldName).listFiles((dir, name) -> name.startsWith("r.") && name.endsWith(".yml"));
+        return files != null ? files : new File[0];
+    }
+
+    /**
+     * Read a data file into plain maps and parse the records in parallel. Shard files
+     * are checked against their checksum first. Returns null if the file could not be read.
+     */
+    private List<StoredPrinter> readPrinters(File file, boolean shard) {
+        LoaderOptions options = new LoaderOptions();
+        options.setCodePointLimit(Integer.MAX_VALUE);
+
+        Object root;
+        try (Reader reader = shard ? new StringReader(ShardFile.read(file))
+                : Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            root = new Yaml(new SafeConstructor(options)).load(reader);
+        } catch (IOException | YAMLException e) {
+            plugin.getLogger().severe("Could not read " + file.getName() + "!");
+            e.printStackTrace();
+            backupBrokenFile(file);
+            return null;
+        }
+
+        if (!(root instanceof Map) || !(((Map<?, ?>) root).get("printers") instanceof Map)) {
+            return Collections.emptyList();
+        }
+        Map<?, ?> section = (Map<?, ?>) ((Map<?, ?>) root).get("printers");
+
+        return section.entrySet().parallelStream()
+                .map(entry -> parsePrinter(String.valueOf(entry.getKey()), entry.getValue()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Parse one printer entry, or return null if it is invalid. Runs on worker threads.
+     */
+    private StoredPrinter parsePrinter(String key, Object value) {
+        // Key is world_x_y_z; world names may contain underscores, so split from the right
+        int zSplit = key.lastIndexOf('_');
+        int ySplit = zSplit > 0 ? key.lastIndexOf('_', zSplit - 1) : -1;
+        int xSplit = ySplit > 0 ? key.lastIndexOf('_', ySplit - 1) : -1;
+        if (xSplit <= 0 || !(value instanceof Map)) {
+            plugin.getLogger().warning("Skipping invalid printer entry: " + key);
+            return null;
+        }
+
+        Map<?, ?> data = (Map<?, ?>) value;
+        try {
+            UUID owner = UUID.fromString(String.valueOf(data.get("owner")));
+            PrinterInfo info = new PrinterInfo(owner, intValue(data.get("tier"), 1));
+            info.setFuelTime(intValue(data.get("fuelTime"), 0));
+            info.setFuelTicks(intValue(data.get("fuelTicks"), 0));
+            info.setEarnings(data.get("earnings") instanceof Number ? ((Number) data.get("earnings")).doubleValue() : 0.0);
+
+            // Load friends
+            if (data.get("friends") instanceof List) {
+                for (Object friendUUID : (List<?>) data.get("friends")) {
                     try {
-                        info.addFriend(UUID.fromString(friendUUID));
+                        info.addFriend(UUID.fromString(String.valueOf(friendUUID)));
                     } catch (IllegalArgumentException e) {
                         plugin.getLogger().warning("Invalid friend UUID in printer data: " + friendUUID);
                     }
                 }
-
-                printers.put(loc, info);
             }
+
+            return new StoredPrinter(key.substring(0, xSplit),
+                    Integer.parseInt(key.substring(xSplit + 1, ySplit)),
+                    Integer.parseInt(key.substring(ySplit + 1, zSplit)),
+                    Integer.parseInt(key.substring(zSplit + 1)),
+                    info);
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Skipping invalid printer entry: " + key + " (" + e.getMessage() + ")");
+            return null;
         }
+    }
 
-        plugin.getLogger().info("Loaded " + printers.size() + " printers");
+    private static int intValue(Object value, int defaultValue) {
+        return value instanceof Number ? ((Number) value).intValue() : defaultValue;
+    }
+
+    /**
+     * Keep a copy of an unreadable data file (see ShardFile.backupBroken)
+     */
+    private void backupBrokenFile(File file) {
+        try {
+            File backup = ShardFile.backupBroken(file);
+            plugin.getLogger().severe("Kept a copy of " + file.getName() + " as " + backup.getName());
+        } catch (IOException e) {
+            plugin.getLogger().severe("Could not back up " + file.getName() + "!");
+            e.printStackTrace();
+        }
     }
 
     /**
-     * Save data to file
+     * Save data to file. Saves requested before the async scheduler gets to them are
+     * coalesced into one render and write there; rendering reads each printer's locked
+     * snapshot, so it is safe off the threads that tick them.
      */
     public void saveData() {
-        dataConfig.set("printers", null); // Clear existing data
+        PrinterScheduler scheduler = plugin.getPrinterScheduler();
+        if (scheduler == null) {
+            saveNow();
+            return;
+        }
 
-        for (Map.Entry<Location, PrinterInfo> entry : printers.entrySet()) {
-            Location loc = entry.getKey();
-            PrinterInfo info = entry.getValue();
+        if (savePending.compareAndSet(false, true)) {
+            scheduler.runAsync(() -> {
+                savePending.set(false);
+                saveNow();
+            });
+        }
+    }
+
+    /**
+     * Save data to file on the calling thread
+     */
+    public void saveNow() {
+        flush(collectWrites(loadedWorlds));
+    }
+
+    /**
+     * Write rendered shards, the name cache and the leaderboards
+     */
+    private void flush(List<ShardWrite> writes) {
+        PrinterSaveEvent saveEvent = new PrinterSaveEvent();
+        saveEvent.begin();
+        long startTime = System.nanoTime();
+
+        long bytes = writeShards(writes);
+        // Saves may run on the main thread and the async save task at once; rendering and
+        // writing under the write lock keeps an older copy from being written last
+        synchronized (writeLock) {
+            plugin.getNameCache().save();
+            plugin.getLeaderboards().save();
+        }
+
+        PrinterMetrics metrics = plugin.getMetrics();
+        metrics.saveBytesWritten.add(bytes);
+        metrics.saveLastBytes.set(bytes);
+        metrics.saveDuration.recordSince(startTime);
+
+        saveEvent.end();
+        if (saveEvent.shouldCommit()) {
+            saveEvent.printers = printers.size();
+            saveEvent.bytes = bytes;
+            saveEvent.commit();
+        }
+    }
 
-            // Create key from location (world_x_y_z)
-            String key = loc.getWorld().getName() + "_" +
-                    loc.getBlockX() + "_" +
-                    loc.getBlockY() + "_" +
-                    loc.getBlockZ();
+    /**
+     * Render the dirty shards of the given worlds, clearing their dirty flags
+     */
+    private synchronized List<ShardWrite> collectWrites(Set<String> worlds) {
+        List<ShardWrite> writes = new ArrayList<>();
+        for (String world : worlds) {
+            Map<Long, Shard> worldShards = shards.get(world);
+            if (worldShards == null) {
+                continue;
+            }
 
-            String path = "printers." + key;
-            dataConfig.set(path + ".owner", info.getOwner().toString());
-            dataConfig.set(path + ".tier", info.getTier());
-            dataConfig.set(path + ".fuelTime", info.getFuelTime());
-            dataConfig.set(path + ".fuelTicks", info.getFuelTicks());
-            dataConfig.set(path + ".earnings", info.getEarnings());
+            for (Shard shard : worldShards.values()) {
+                if (!shard.dirty || shard.quarantined) {
+                    continue;
+                }
+                // Clear first so changes made while rendering mark it dirty again
+                shard.dirty = false;
 
-            // Save friends
-            List<String> friendUUIDs = new ArrayList<>();
-            for (UUID friendUUID : info.getFriends()) {
-                friendUUIDs.add(friendUUID.toString());
+                YamlConfiguration partition = new YamlConfiguration();
+                for (Location loc : shard.printers) {
+                    PrinterInfo info = printers.get(loc);
+                    if (info != null) {
+                        writePrinter(partition, key(loc), info);
+                    }
+                }
+                // An empty shard is deleted
+                writes.add(new ShardWrite(shard, partition.contains("printers") ? partition.saveToString() : null,
+                        ++writeSequence));
             }
-            dataConfig.set(path + ".friends", friendUUIDs);
         }
+        return writes;
+    }
 
-        try {
-            dataConfig.save(dataFile);
-        } catch (IOException e) {
-            plugin.getLogger().severe("Could not save printers.yml!");
-            e.printStackTrace();
+    /**
+     * Write rendered shards, returning the bytes written. Failed shards are marked dirty
+     * again so the next save retries them.
+     */
+    private long writeShards(List<ShardWrite> writes) {
+        long bytes = 0;
+        int written = 0;
+        synchronized (writeLock) {
+            for (ShardWrite write : writes) {
+                File file = write.shard.file;
+                Long last = writtenSequences.get(file);
+                if (last != null && last > write.sequence) {
+                    continue; // A later save already wrote a newer render
+                }
+
+                try {
+                    if (write.body == null) {
+                        Files.deleteIfExists(file.toPath());
+                    } else {
+                        file.getParentFile().mkdirs();
+                        bytes += ShardFile.write(file, write.body);
+                        written++;
+                    }
+                    writtenSequences.put(file, write.sequence);
+                } catch (IOException e) {
+                    write.shard.markDirty();
+                    plugin.getLogger().severe("Could not save printers/" + file.getParentFile().getName() + "/"
+                            + file.getName() + "!");
+                    e.printStackTrace();
+                }
+            }
+        }
+        plugin.getMetrics().saveShardsWritten.add(written);
+        return bytes;
+    }
+
+    /**
+     * Write all printers in memory to a single file, in the format of printers.yml
+     */
+    public void exportSnapshot(File file) throws IOException {
+        YamlConfiguration snapshot = new YamlConfiguration();
+        for (Map.Entry<Location, PrinterInfo> entry : printers.entrySet()) {
+            writePrinter(snapshot, key(entry.getKey()), entry.getValue());
+        }
+        snapshot.save(file);
+    }
+
+    /**
+     * Create key from location (world_x_y_z)
+     */
+    private static String key(Location loc) {
+        return loc.getWorld().getName() + "_" +
+                loc.getBlockX() + "_" +
+                loc.getBlockY() + "_" +
+                loc.getBlockZ();
+    }
+
+    private static void writePrinter(YamlConfiguration config, String key, PrinterInfo info) {
+        // Save writers may run off the main thread, so write one consistent snapshot
+        Snapshot snapshot = info.snapshot();
+        String path = "printers." + key;
+        config.set(path + ".owner", snapshot.owner.toString());
+        config.set(path + ".tier", snapshot.tier);
+        config.set(path + ".fuelTime", snapshot.fuelTime);
+        config.set(path + ".fuelTicks", snapshot.fuelTicks);
+        config.set(path + ".earnings", snapshot.earnings);
+
+        // Save friends
+        List<String> friendUUIDs = new ArrayList<>(snapshot.friends.size());
+        for (UUID friendUUID : snapshot.friends) {
+            friendUUIDs.add(friendUUID.toString());
         }
+        config.set(path + ".friends", friendUUIDs);
+    }
+
+    /**
+     * Format a fuel time in seconds as MM:SS
+     */
+    public static String formatFuelTime(int fuelTime) {
+        if (fuelTime <= 0) return "00:00";
+
+        int minutes = fuelTime / 60;
+        int seconds = fuelTime % 60;
+
+        return String.format("%02d:%02d", minutes, seconds);
     }
 
     /**
-     * Inner class to hold printer information
+     * A parsed printer record, before its world is attached
+     */
+    static class StoredPrinter {
+        final String world;
+        final int x;
+        final int y;
+        final int z;
+        final PrinterInfo info;
+
+        StoredPrinter(String world, int x, int y, int z, PrinterInfo info) {
+            this.world = world;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.info = info;
+        }
+
+        Location toLocation(World world) {
+            return new Location(world, x, y, z);
+        }
+
+        String key() {
+            return world + "_" + x + "_" + y + "_" + z;
+        }
+    }
+
+    /**
+     * A rendered shard to write, or to delete if its body is null
+     */
+    private static final class ShardWrite {
+        final Shard shard;
+        final String body;
+        final long sequence;
+
+        ShardWrite(Shard shard, String body, long sequence) {
+            this.shard = shard;
+            this.body = body;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * A storage shard: the printers of one 512x512 block region of a world
+     */
+    static final class Shard {
+        final File file;
+        final Set<Location> printers = ConcurrentHashMap.newKeySet();
+        volatile boolean dirty;
+        // Its file could not be read; not written until released, so the file stays as it was
+        volatile boolean quarantined;
+
+        Shard(File file) {
+            this.file = file;
+        }
+
+        void markDirty() {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Inner class to hold printer information.
+     *
+     * Safe to read from any thread: fields are volatile, compound updates and friend
+     * changes take the write lock and snapshot() gives a consistent copy of all fields,
+     * friends included, using an optimistic read.
+     * Changes are reported to the leaderboards under the write lock, so the boards always
+     * match the printer's state, and mark the printer's storage shard dirty and its
+     * hologram for an update.
      */
     public static class PrinterInfo {
-        private UUID owner;
-        private int tier;
-        private int fuelTime; // Seconds remaining
-        private int fuelTicks; // Ticks toward next payout
-        private double earnings;
-        private boolean notifiedEmpty;
-        private boolean notifiedFull;
-        private Set<UUID> friends; // Friends who can access this printer
+        private final StampedLock lock = new StampedLock();
+        private final UUID owner;
+        private volatile int tier;
+        private volatile int fuelTime; // Seconds remaining
+        private volatile int fuelTicks; // Ticks toward next payout
+        private volatile double earnings;
+        private volatile boolean notifiedEmpty;
+        private volatile boolean notifiedFull;
+        private volatile long dormantSince; // Epoch millis when its chunk unloaded, 0 while active
+        private volatile long lastRun; // Epoch millis PrinterTask has accounted up to, 0 until its first run
+        private final Set<UUID> friends; // Friends who can access this printer
+        private final Set<UUID> friendsView;
+        private volatile Leaderboards leaderboards; // Set while registered
+        private volatile Location location; // Set while registered, for the richest printers board
+        private volatile Shard shard; // Set while registered
+        private volatile PrinterHolograms.Hologram hologram; // Set while a player sees it
 
         public PrinterInfo(UUID owner, int tier) {
             this.owner = owner;
@@ -206,32 +1162,213 @@ public class PrinterData {
             this.earnings = 0.0;
             this.notifiedEmpty = false;
             this.notifiedFull = false;
-            this.friends = new HashSet<>();
+            this.friends = ConcurrentHashMap.newKeySet();
+            this.friendsView = Collections.unmodifiableSet(friends);
         }
 
         // Getters and setters
         public UUID getOwner() { return owner; }
         public int getTier() { return tier; }
-        public void setTier(int tier) { this.tier = tier; }
+        public void setTier(int tier) {
+            long stamp = lock.writeLock();
+            try {
+                Leaderboards boards = leaderboards;
+                if (boards != null) {
+                    boards.tierChanged(owner, this.tier, tier);
+                }
+                this.tier = tier;
+                changed();
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
 
         public int getFuelTime() { return fuelTime; }
         public void setFuelTime(int fuelTime) {
-            this.fuelTime = fuelTime;
-            if (fuelTime > 0) notifiedEmpty = false;
+            long stamp = lock.writeLock();
+            try {
+                this.fuelTime = fuelTime;
+                if (fuelTime > 0) notifiedEmpty = false;
+                changed();
+            } finally {
+                lock.unlockWrite(stamp);
+            }
         }
         public void addFuelTime(int seconds) {
-            this.fuelTime += seconds;
+            long stamp = lock.writeLock();
+            try {
+                this.fuelTime += seconds;
+                changed();
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * Add fuel up to a maximum, returning the seconds actually added
+         */
+        public int addFuelTime(int seconds, int max) {
+            long stamp = lock.writeLock();
+            try {
+                int added = Math.max(0, Math.min(fuelTime + seconds, max) - fuelTime);
+                if (added > 0) {
+                    this.fuelTime += added;
+                    notifiedEmpty = false;
+                    changed();
+                }
+                return added;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * Burn fuel for a number of cycles, returning the cycles that had fuel to run on
+         */
+        public long burnFuel(long cycles, int secondsPerCycle) {
+            long stamp = lock.writeLock();
+            try {
+                long running = Math.min(cycles, (fuelTime + secondsPerCycle - 1) / secondsPerCycle);
+                int remaining = (int) Math.max(0, fuelTime - cycles * secondsPerCycle);
+                if (remaining != fuelTime) {
+                    this.fuelTime = remaining;
+                    changed();
+                }
+                return running;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
         }
 
         public int getFuelTicks() { return fuelTicks; }
-        public void setFuelTicks(int ticks) { this.fuelTicks = ticks; }
+        public void setFuelTicks(int ticks) {
+            long stamp = lock.writeLock();
+            try {
+                this.fuelTicks = ticks;
+                changed();
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
 
         public double getEarnings() { return earnings; }
         public void setEarnings(double earnings) {
-            this.earnings = earnings;
+            long stamp = lock.writeLock();
+            try {
+                earningsChanged(earnings - this.earnings, 0);
+                this.earnings = earnings;
+                changed();
+            } finally {
+                lock.unlockWrite(stamp);
+            }
         }
         public void addEarnings(double amount) {
-            this.earnings += amount;
+            long stamp = lock.writeLock();
+            try {
+                this.earnings += amount;
+                earningsChanged(amount, 0);
+                changed();
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * Print new earnings up to a maximum, returning the amount actually added
+         */
+        public double addEarnings(double amount, double max) {
+            long stamp = lock.writeLock();
+            try {
+                double added = Math.max(0, Math.min(earnings + amount, max) - earnings);
+                this.earnings += added;
+                earningsChanged(added, added);
+                if (added > 0) changed();
+                return added;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * Take all earnings out of the printer, returning the amount taken
+         */
+        public double takeEarnings() {
+            long stamp = lock.writeLock();
+            try {
+                double taken = earnings;
+                this.earnings = 0;
+                this.notifiedFull = false; // Reset full notification
+                earningsChanged(-taken, 0);
+                if (taken != 0) changed();
+                return taken;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * Report an earnings change to the leaderboards. Called with the write lock held.
+         */
+        private void earningsChanged(double delta, double minted) {
+            Leaderboards boards = leaderboards;
+            if (boards != null && (delta != 0 || minted != 0)) {
+                boards.earningsChanged(owner, location, delta, minted);
+            }
+        }
+
+        /**
+         * Start or stop reporting changes to the leaderboards, adding or removing this printer's totals
+         */
+        void attach(Leaderboards boards, Location loc) {
+            long stamp = lock.writeLock();
+            try {
+                Leaderboards previous = leaderboards;
+                if (previous == boards) {
+                    return;
+                }
+                if (previous != null) {
+                    previous.printerRemoved(owner, location, tier, earnings);
+                }
+                if (boards != null) {
+                    boards.printerAdded(owner, loc, tier, earnings);
+                }
+                leaderboards = boards;
+                location = boards != null ? loc : null;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * Mark the printer's shard dirty so the next save writes it, and refresh its hologram
+         */
+        private void changed() {
+            Shard current = shard;
+            if (current != null) {
+                current.markDirty();
+            }
+            PrinterHolograms.Hologram display = hologram;
+            if (display != null) {
+                display.changed();
+            }
+        }
+
+        void setHologram(PrinterHolograms.Hologram hologram) {
+            this.hologram = hologram;
+        }
+
+        /**
+         * Move the printer to a storage shard, or null when unregistered. Both shards need saving.
+         */
+        void setShard(Shard shard) {
+            Shard previous = this.shard;
+            this.shard = shard;
+            if (previous != null) {
+                previous.markDirty();
+            }
+            if (shard != null) {
+                shard.markDirty();
+            }
         }
 
         public boolean hasNotifiedEmpty() { return notifiedEmpty; }
@@ -240,19 +1377,67 @@ public class PrinterData {
         public boolean hasNotifiedFull() { return notifiedFull; }
         public void setNotifiedFull(boolean notified) { this.notifiedFull = notified; }
 
+        public long getDormantSince() { return dormantSince; }
+        public void setDormantSince(long dormantSince) { this.dormantSince = dormantSince; }
+        public boolean isDormant() { return dormantSince != 0; }
+
+        public long getLastRun() { return lastRun; }
+        public void setLastRun(long lastRun) { this.lastRun = lastRun; }
+
         // Friends management
-        public Set<UUID> getFriends() { return new HashSet<>(friends); }
-        public void addFriend(UUID friendUUID) { friends.add(friendUUID); }
-        public void removeFriend(UUID friendUUID) { friends.remove(friendUUID); }
+        public Set<UUID> getFriends() { return friendsView; } // Read-only live view
+        public void addFriend(UUID friendUUID) {
+            // Under the write lock, so a snapshot sees the friends and the other fields together
+            long stamp = lock.writeLock();
+            try {
+                if (friends.add(friendUUID)) changed();
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+        public void removeFriend(UUID friendUUID) {
+            long stamp = lock.writeLock();
+            try {
+                if (friends.remove(friendUUID)) changed();
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
         public boolean isFriend(UUID playerUUID) { return friends.contains(playerUUID); }
         public boolean canAccess(UUID playerUUID) {
             return owner.equals(playerUUID) || friends.contains(playerUUID);
         }
 
+        /**
+         * Get a consistent copy of the printer's persistent state without blocking writers
+         */
+        public Snapshot snapshot() {
+            return snapshot(true);
+        }
+
+        /**
+         * Get a consistent copy of the printer's state, copying the friends only if asked
+         * to, so callers that don't need them don't pay for the copy
+         */
+        public Snapshot snapshot(boolean withFriends) {
+            long stamp = lock.tryOptimisticRead();
+            Snapshot snapshot = new Snapshot(this, withFriends);
+            if (!lock.validate(stamp)) {
+                // A write happened while reading; retry under the read lock
+                stamp = lock.readLock();
+                try {
+                    snapshot = new Snapshot(this, withFriends);
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return snapshot;
+        }
+
         /**
          * Get earnings rate based on tier from config
          */
-        public double getEarningsRate(ConfigManager config) {
+        public double getEarningsRate(ConfigSnapshot config) {
             ConfigManager.TierConfig tierConfig = config.getTier(tier);
             return tierConfig != null ? tierConfig.getEarnings() : 10.0;
         }
@@ -261,12 +1446,28 @@ public class PrinterData {
          * Get formatted fuel time string (MM:SS)
          */
         public String getFormattedFuelTime() {
-            if (fuelTime <= 0) return "00:00";
+            return formatFuelTime(fuelTime);
+        }
+    }
 
-            int minutes = fuelTime / 60;
-            int seconds = fuelTime % 60;
+    /**
+     * Immutable copy of a printer's persistent state
+     */
+    public static class Snapshot {
+        public final UUID owner;
+        public final int tier;
+        public final int fuelTime;
+        public final int fuelTicks;
+        public final double earnings;
+        public final Set<UUID> friends; // Empty if taken without friends
 
-            return String.format("%02d:%02d", minutes, seconds);
+        private Snapshot(PrinterInfo info, boolean withFriends) {
+            this.owner = info.owner;
+            this.tier = info.tier;
+            this.fuelTime = info.fuelTime;
+            this.fuelTicks = info.fuelTicks;
+            this.earnings = info.earnings;
+            this.friends = withFriends ? Set.copyOf(info.friends) : Collections.emptySet();
         }
     }
-}
\ No newline at end of file
+}
@@ -5,6 +5,7 @@ import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.block.BlockBreakEvent;
@@ -12,6 +13,11 @@ import org.bukkit.event.block.BlockPlaceEvent;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
@@ -23,9 +29,11 @@ import java.util.Map;
  */
 public class PrinterEvents implements Listener {
     private final MoneyPrinterPlugin plugin;
+    private final ClickLimiter clickLimiter;
 
     public PrinterEvents(MoneyPrinterPlugin plugin) {
         this.plugin = plugin;
+        this.clickLimiter = new ClickLimiter(plugin);
     }
 
     /**
@@ -123,6 +131,11 @@ public class PrinterEvents implements Listener {
             return;
         }
 
+        // Reject ordinary heads without allocating a Location
+        if (!plugin.getPrinterData().mayBePrinter(block.getX(), block.getY(), block.getZ())) {
+            return;
+        }
+
         Location loc = block.getLocation();
 
         if (plugin.getPrinterData().isPrinter(loc)) {
@@ -172,6 +185,29 @@ public class PrinterEvents implements Listener {
      */
     @EventHandler
     public void onInventoryClick(InventoryClickEvent event) {
+        // Admin printer browser
+        if (event.getInventory().getHolder() instanceof PrinterBrowserGUI.Holder) {
+            event.setCancelled(true);
+            if (event.getWhoClicked() instanceof Player) {
+                plugin.getPrinterBrowserGUI().handleClick((Player) event.getWhoClicked(),
+                        (PrinterBrowserGUI.Holder) event.getInventory().getHolder(), event.getRawSlot());
+            }
+            return;
+        }
+
+        // Owner dashboard, limited like the printer GUI since its buttons act on every printer
+        if (event.getInventory().getHolder() instanceof PrinterDashboardGUI.Holder) {
+            event.setCancelled(true);
+            if (event.getWhoClicked() instanceof Player) {
+                Player player = (Player) event.getWhoClicked();
+                if (acceptClick(player, event.getRawSlot())) {
+                    plugin.getPrinterDashboardGUI().handleClick(player,
+                            (PrinterDashboardGUI.Holder) event.getInventory().getHolder(), event.getRawSlot());
+                }
+            }
+            return;
+        }
+
         String title = event.getView().getTitle();
 
         // Check if it's our GUI (strip color codes for comparison)
@@ -187,6 +223,8 @@ public class PrinterEvents implements Listener {
             return;
         }
 
+        long startTime = System.nanoTime();
+
         Player player = (Player) event.getWhoClicked();
         int slot = event.getRawSlot();
 
@@ -203,16 +241,41 @@ public class PrinterEvents implements Listener {
             return;
         }
 
-        ConfigManager config = plugin.getConfigManager();
-
         // Handle different button clicks based on configured slots
-        if (slot == config.getButtonSlot("add-fuel")) {
-            handleAddFuel(player, loc, printer);
-        } else if (slot == config.getButtonSlot("collect-money")) {
+        ConfigSnapshot.GuiAction action = plugin.getConfigManager().getSnapshot().getSlotAction(slot);
+        if (action == null || action == ConfigSnapshot.GuiAction.STATUS) {
+            return;
+        }
+
+        if (!acceptClick(player, slot)) {
+            return;
+        }
+
+        if (action == ConfigSnapshot.GuiAction.ADD_FUEL) {
+            // Shift-click fills the printer up in one go
+            handleAddFuel(player, loc, printer, event.isShiftClick());
+        } else if (action == ConfigSnapshot.GuiAction.COLLECT_MONEY) {
             handleCollectMoney(player, loc, printer);
-        } else if (slot == config.getButtonSlot("upgrade")) {
+        } else if (action == ConfigSnapshot.GuiAction.UPGRADE) {
             handleUpgrade(player, loc, printer);
         }
+
+        plugin.getMetrics().clickDuration.recordSince(startTime);
+    }
+
+    /**
+     * Check a click against the player's click limit, telling them when they hit it
+     */
+    private boolean acceptClick(Player player, int slot) {
+        ClickLimiter.Result result = clickLimiter.click(player.getUniqueId(), slot);
+        if (result == ClickLimiter.Result.ALLOWED) {
+            return true;
+        }
+        plugin.getMetrics().clicksRejected.increment();
+        if (result == ClickLimiter.Result.THROTTLED) {
+            player.sendMessage(plugin.getConfigManager().getMessage("clicking-too-fast"));
+        }
+        return false;
     }
 
     /**
@@ -230,9 +293,17 @@ public class PrinterEvents implements Listener {
     }
 
     /**
-     * Handle adding fuel
+     * Forget click limits of players who leave
      */
-    private void handleAddFuel(Player player, Location loc, PrinterData.PrinterInfo printer) {
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        clickLimiter.forget(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Handle adding fuel: one item, or as many as fit when filling up
+     */
+    private void handleAddFuel(Player player, Location loc, PrinterData.PrinterInfo printer, boolean fillUp) {
         ConfigManager config = plugin.getConfigManager();
 
         // Check if fuel is enabled
@@ -262,26 +333,52 @@ public class PrinterEvents implements Listener {
             return;
         }
 
-        // Remove fuel and add time
+        int items = 1;
+        if (fillUp && fuelMinutes > 0) {
+            int missingSeconds = maxFuelMinutes * 60 - printer.getFuelTime();
+            int needed = (missingSeconds + fuelMinutes * 60 - 1) / (fuelMinutes * 60);
+            items = Math.max(1, Math.min(needed, countItems(player, fuelItem)));
+        }
+
+        // Add time in one locked step, then remove only the items that went in, all at once
+        int added = printer.addFuelTime(items * fuelMinutes * 60, maxFuelMinutes * 60);
+        if (added <= 0) {
+            Map<String, String> placeholders = new HashMap<>();
+            placeholders.put("max", String.valueOf(maxFuelMinutes));
+            player.sendMessage(config.getMessage("fuel-max", placeholders));
+            return;
+        }
+        if (fuelMinutes > 0) {
+            items = Math.min(items, (added + fuelMinutes * 60 - 1) / (fuelMinutes * 60));
+        }
+        fuelItem.setAmount(items);
         player.getInventory().removeItem(fuelItem);
-        int secondsToAdd = fuelMinutes * 60;
-        int newFuelTime = Math.min(printer.getFuelTime() + secondsToAdd, maxFuelMinutes * 60);
-        printer.setFuelTime(newFuelTime);
 
         Map<String, String> placeholders = new HashMap<>();
-        placeholders.put("minutes", String.valueOf(fuelMinutes));
+        placeholders.put("minutes", String.valueOf(items * fuelMinutes));
         player.sendMessage(config.getMessage("fuel-added", placeholders));
 
         plugin.getPrinterGUI().updateGUI(player, loc);
         plugin.getPrinterData().saveData();
     }
 
+    private static int countItems(Player player, ItemStack item) {
+        int count = 0;
+        for (ItemStack stack : player.getInventory().getContents()) {
+            if (stack != null && stack.isSimilar(item)) {
+                count += stack.getAmount();
+            }
+        }
+        return count;
+    }
+
     /**
      * Handle collecting money
      */
     private void handleCollectMoney(Player player, Location loc, PrinterData.PrinterInfo printer) {
         ConfigManager config = plugin.getConfigManager();
-        double earnings = printer.getEarnings();
+        // Take the earnings atomically so a concurrent payout is never lost or paid twice
+        double earnings = printer.takeEarnings();
 
         if (earnings <= 0) {
             player.sendMessage(config.getMessage("no-money"));
@@ -289,8 +386,8 @@ public class PrinterEvents implements Listener {
         }
 
         plugin.getEconomy().depositPlayer(player, earnings);
-        printer.setEarnings(0);
-        printer.setNotifiedFull(false); // Reset full notification
+        plugin.getAuditLog().record(AuditLog.COLLECT, loc, printer.getOwner(), player.getUniqueId(),
+                printer.getTier(), earnings);
 
         Map<String, String> placeholders = new HashMap<>();
         placeholders.put("amount", String.format("%.2f", earnings));
@@ -335,6 +432,8 @@ public class PrinterEvents implements Listener {
         // Perform upgrade
         plugin.getEconomy().withdrawPlayer(player, cost);
         printer.setTier(nextTierNum);
+        plugin.getAuditLog().record(AuditLog.UPGRADE, loc, printer.getOwner(), player.getUniqueId(),
+                nextTierNum, cost);
 
         Map<String, String> placeholders = new HashMap<>();
         placeholders.put("tier", nextTierConfig.getName());
@@ -360,4 +459,36 @@ public class PrinterEvents implements Listener {
         int configMax = plugin.getConfigManager().getMaxPrintersPerPlayer();
         return configMax;
     }
-}
\ No newline at end of file
+
+    /**
+     * Wake dormant printers when their chunk loads
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        plugin.getPrinterData().chunkLoaded(event.getChunk());
+    }
+
+    /**
+     * Printers in unloading chunks go dormant
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        plugin.getPrinterData().chunkUnloaded(event.getChunk());
+    }
+
+    /**
+     * Load a world's printers when the world loads
+     */
+    @EventHandler
+    public void onWorldLoad(WorldLoadEvent event) {
+        plugin.getPrinterData().loadWorld(event.getWorld());
+    }
+
+    /**
+     * Save and evict a world's printers once it is unloading
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        plugin.getPrinterData().unloadWorld(event.getWorld());
+    }
+}
@@ -14,26 +14,27 @@ import org.bukkit.profile.PlayerTextures;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Handles GUI creation and updates
  */
 public class PrinterGUI {
     private final MoneyPrinterPlugin plugin;
-    private final Map<UUID, Location> openGUIs = new HashMap<>();
+    private final Map<UUID, Location> openGUIs = new ConcurrentHashMap<>();
 
     public PrinterGUI(MoneyPrinterPlugin plugin) {
         this.plugin = plugin;
 
         // Start GUI update task (every 2 seconds)
-        Bukkit.getScheduler().runTaskTimer(plugin, this::updateAllGUIs, 40L, 40L);
+        plugin.getPrinterScheduler().runTimer(this::updateAllGUIs, 40L, 40L);
     }
 
     /**
      * Open GUI for a player
      */
     public void openGUI(Player player, Location loc) {
-        ConfigManager config = plugin.getConfigManager();
+        ConfigSnapshot config = plugin.getConfigManager().getSnapshot();
         int rows = config.getGUIRows();
         String title = config.getGUITitle();
 
@@ -42,7 +43,7 @@ public class PrinterGUI {
         player.openInventory(inv);
 
         // Store location AFTER opening inventory (delay by 1 tick to avoid close event)
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
+        plugin.getPrinterScheduler().runForEntity(player, () -> {
             openGUIs.put(player.getUniqueId(), loc);
         }, 1L);
     }
@@ -78,19 +79,22 @@ public class PrinterGUI {
     }
 
     /**
-     * Update all open GUIs
+     * Update all open GUIs, each on its viewer's thread
      */
     private void updateAllGUIs() {
-        for (Map.Entry<UUID, Location> entry : new HashMap<>(openGUIs).entrySet()) {
+        for (Map.Entry<UUID, Location> entry : openGUIs.entrySet()) {
             Player player = Bukkit.getPlayer(entry.getKey());
             if (player != null && player.isOnline()) {
-                String title = player.getOpenInventory().getTitle();
-                if (title != null) {
-                    String stripped = title.replaceAll("§[0-9a-fk-or]", "");
-                    if (stripped.contains("Money Printer")) {
-                        updateGUI(player, entry.getValue());
+                Location loc = entry.getValue();
+                plugin.getPrinterScheduler().runForEntity(player, () -> {
+                    String title = player.getOpenInventory().getTitle();
+                    if (title != null) {
+                        String stripped = title.replaceAll("§[0-9a-fk-or]", "");
+                        if (stripped.contains("Money Printer")) {
+                            updateGUI(player, loc);
+                        }
                     }
-                }
+                }, 0L);
             } else {
                 // Clean up disconnected players
                 openGUIs.remove(entry.getKey());
@@ -101,13 +105,18 @@ public class PrinterGUI {
     /**
      * Update GUI content with modern design
      */
-    private void updateGUIContent(Inventory inv, Location loc) {
+    void updateGUIContent(Inventory inv, Location loc) {
         PrinterData.PrinterInfo printer = plugin.getPrinterData().getPrinter(loc);
         if (printer == null) {
             return;
         }
 
-        ConfigManager config = plugin.getConfigManager();
+        PrinterGuiRenderEvent renderEvent = new PrinterGuiRenderEvent();
+        renderEvent.begin();
+        long startTime = System.nanoTime();
+
+        // One snapshot for the whole render so a reload can't mix two configs
+        ConfigSnapshot config = plugin.getConfigManager().getSnapshot();
         ConfigManager.TierConfig tierConfig = config.getTier(printer.getTier());
 
         // Fill with background filler
@@ -125,28 +134,23 @@ public class PrinterGUI {
         placeholders.put("max-fuel", String.valueOf(config.getMaxFuelMinutes()));
 
         // Status display (top center) - using printer head with tier texture
+        ConfigSnapshot.Button status = config.getButton(ConfigSnapshot.GuiAction.STATUS);
         ItemStack statusItem = createPrinterHead(tierConfig);
         ItemMeta statusMeta = statusItem.getItemMeta();
         if (statusMeta != null) {
-            statusMeta.setDisplayName(config.getButtonName("status", placeholders));
-            statusMeta.setLore(config.getButtonLore("status", placeholders));
+            statusMeta.setDisplayName(status.getName(placeholders));
+            statusMeta.setLore(status.getLore(placeholders));
             statusItem.setItemMeta(statusMeta);
         }
-        inv.setItem(config.getButtonSlot("status"), statusItem);
+        inv.setItem(status.getSlot(), statusItem);
 
         // Add fuel button (only if fuel is enabled)
         if (config.isFuelEnabled()) {
-            Material fuelMaterial = config.getButtonMaterial("add-fuel");
-            String fuelButtonName = config.getButtonName("add-fuel", placeholders);
-            List<String> fuelLore = config.getButtonLore("add-fuel", placeholders);
-            inv.setItem(config.getButtonSlot("add-fuel"), createItem(fuelMaterial, fuelButtonName, fuelLore));
+            setButton(inv, config.getButton(ConfigSnapshot.GuiAction.ADD_FUEL), placeholders);
         }
 
         // Collect money button
-        Material collectMaterial = config.getButtonMaterial("collect-money");
-        String collectButtonName = config.getButtonName("collect-money", placeholders);
-        List<String> collectLore = config.getButtonLore("collect-money", placeholders);
-        inv.setItem(config.getButtonSlot("collect-money"), createItem(collectMaterial, collectButtonName, collectLore));
+        setButton(inv, config.getButton(ConfigSnapshot.GuiAction.COLLECT_MONEY), placeholders);
 
         // Upgrade button - changes based on current tier
         ConfigManager.TierConfig nextTier = config.getNextTier(printer.getTier());
@@ -157,31 +161,19 @@ public class PrinterGUI {
             placeholders.put("cost", String.format("%.2f", nextTier.getUpgradeCost()));
             placeholders.put("next-earnings", String.format("%.2f", nextTier.getEarnings()));
 
-            Material upgradeMaterial = config.getButtonMaterial("upgrade");
-            String upgradeName = config.getButtonName("upgrade", placeholders);
-            List<String> upgradeLore = config.getButtonLore("upgrade", placeholders);
-
-            inv.setItem(config.getButtonSlot("upgrade"), createItem(upgradeMaterial, upgradeName, upgradeLore));
+            setButton(inv, config.getButton(ConfigSnapshot.GuiAction.UPGRADE), placeholders);
         } else {
             // At max tier
-            String maxTierMaterial = config.getConfig().getString("gui.buttons.upgrade.max-tier-material", "BARRIER");
-            Material material;
-            try {
-                material = Material.valueOf(maxTierMaterial.toUpperCase());
-            } catch (IllegalArgumentException e) {
-                material = Material.BARRIER;
-            }
+            setButton(inv, config.getMaxTierButton(), placeholders);
+        }
 
-            String maxTierName = config.getConfig().getString("gui.buttons.upgrade.max-tier-name", "§c&lMax Tier Reached");
-            maxTierName = org.bukkit.ChatColor.translateAlternateColorCodes('&', maxTierName);
+        plugin.getMetrics().guiRenderDuration.recordSince(startTime);
 
-            List<String> maxTierLore = config.getConfig().getStringList("gui.buttons.upgrade.max-tier-lore");
-            List<String> coloredMaxLore = new ArrayList<>();
-            for (String line : maxTierLore) {
-                coloredMaxLore.add(org.bukkit.ChatColor.translateAlternateColorCodes('&', line));
-            }
-
-            inv.setItem(config.getButtonSlot("upgrade"), createItem(material, maxTierName, coloredMaxLore));
+        renderEvent.end();
+        if (renderEvent.shouldCommit()) {
+            renderEvent.tier = printer.getTier();
+            renderEvent.slots = inv.getSize();
+            renderEvent.commit();
         }
     }
 
@@ -215,6 +207,14 @@ public class PrinterGUI {
         return item;
     }
 
+    /**
+     * Place a configured button in its slot
+     */
+    private void setButton(Inventory inv, ConfigSnapshot.Button button, Map<String, String> placeholders) {
+        inv.setItem(button.getSlot(), createItem(button.getMaterial(),
+                button.getName(placeholders), button.getLore(placeholders)));
+    }
+
     /**
      * Create an item with a display name and lore
      */
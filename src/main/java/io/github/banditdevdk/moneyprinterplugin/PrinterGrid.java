@@ -0,0 +1,229 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Spatial index of printer locations: per world, a grid of chunk-sized cells.
+ *
+ * Range queries visit only the cells overlapping the range, or only the occupied
+ * cells of the world if there are fewer of those, so their cost depends on the size
+ * of the range and the number of results rather than on the total number of printers.
+ * Safe to use from several threads.
+ */
+public class PrinterGrid {
+    // Cells are chunks, 2^4 = 16 blocks wide
+    private static final int CELL_SHIFT = 4;
+
+    private final Map<String, Map<Long, Set<Location>>> worlds = new ConcurrentHashMap<>();
+
+    static long key(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    private static int keyX(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int keyZ(long key) {
+        return (int) key;
+    }
+
+    void add(Location loc) {
+        worlds.computeIfAbsent(loc.getWorld().getName(), name -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key(loc.getBlockX() >> CELL_SHIFT, loc.getBlockZ() >> CELL_SHIFT),
+                        key -> ConcurrentHashMap.newKeySet())
+                .add(loc);
+    }
+
+    void remove(Location loc) {
+        Map<Long, Set<Location>> cells = worlds.get(loc.getWorld().getName());
+        if (cells != null) {
+            cells.computeIfPresent(key(loc.getBlockX() >> CELL_SHIFT, loc.getBlockZ() >> CELL_SHIFT), (key, cell) -> {
+                cell.remove(loc);
+                return cell.isEmpty() ? null : cell;
+            });
+        }
+    }
+
+    void removeWorld(String worldName) {
+        worlds.remove(worldName);
+    }
+
+    void clear() {
+        worlds.clear();
+    }
+
+    /**
+     * Get the printers in a chunk, or null if there are none
+     */
+    Set<Location> getChunk(String worldName, int chunkX, int chunkZ) {
+        Map<Long, Set<Location>> cells = worlds.get(worldName);
+        return cells != null ? cells.get(key(chunkX, chunkZ)) : null;
+    }
+
+    /**
+     * Get the occupied chunks of all worlds
+     */
+    List<Set<Location>> getChunks() {
+        List<Set<Location>> result = new ArrayList<>();
+        for (Map<Long, Set<Location>> cells : worlds.values()) {
+            result.addAll(cells.values());
+        }
+        return result;
+    }
+
+    /**
+     * Get the printers within a radius of a location
+     */
+    public List<Location> near(Location center, double radius) {
+        List<Location> result = new ArrayList<>();
+        double radiusSquared = radius * radius;
+        forEachCell(center.getWorld(),
+                (int) Math.floor(center.getX() - radius), (int) Math.floor(center.getZ() - radius),
+                (int) Math.floor(center.getX() + radius), (int) Math.floor(center.getZ() + radius),
+                cell -> {
+                    for (Location loc : cell) {
+                        double dx = loc.getBlockX() + 0.5 - center.getX();
+                        double dy = loc.getBlockY() + 0.5 - center.getY();
+                        double dz = loc.getBlockZ() + 0.5 - center.getZ();
+                        if (dx * dx + dy * dy + dz * dz <= radiusSquared) {
+                            result.add(loc);
+                        }
+                    }
+                });
+        return result;
+    }
+
+    /**
+     * Get the printers inside a box, bounds inclusive
+     */
+    public List<Location> inRegion(World world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        List<Location> result = new ArrayList<>();
+        forEachCell(world, minX, minZ, maxX, maxZ, cell -> {
+            for (Location loc : cell) {
+                int x = loc.getBlockX();
+                int y = loc.getBlockY();
+                int z = loc.getBlockZ();
+                if (x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ) {
+                    result.add(loc);
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Get the squares of a world with the most printers, densest first. Squares are
+     * cellSize blocks wide (rounded up to whole chunks) and aligned to the grid.
+     */
+    public List<Cluster> densest(World world, int cellSize, int limit) {
+        Map<Long, Set<Location>> cells = worlds.get(world.getName());
+        if (cells == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        // Add up the occupied chunks of each square
+        int chunksPerSquare = Math.max(1, (cellSize + 15) >> CELL_SHIFT);
+        Map<Long, int[]> counts = new HashMap<>();
+        for (Map.Entry<Long, Set<Location>> entry : cells.entrySet()) {
+            long square = key(Math.floorDiv(keyX(entry.getKey()), chunksPerSquare),
+                    Math.floorDiv(keyZ(entry.getKey()), chunksPerSquare));
+            counts.computeIfAbsent(square, key -> new int[1])[0] += entry.getValue().size();
+        }
+
+        // Keep the top entries in a bounded min-heap
+        PriorityQueue<Map.Entry<Long, int[]>> top = new PriorityQueue<>(Comparator.comparingInt(entry -> entry.getValue()[0]));
+        for (Map.Entry<Long, int[]> entry : counts.entrySet()) {
+            if (top.size() < limit) {
+                top.add(entry);
+            } else if (entry.getValue()[0] > top.peek().getValue()[0]) {
+                top.poll();
+                top.add(entry);
+            }
+        }
+
+        int size = chunksPerSquare << CELL_SHIFT;
+        List<Cluster> result = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            Map.Entry<Long, int[]> entry = top.poll();
+            result.add(new Cluster(world, keyX(entry.getKey()) * size, keyZ(entry.getKey()) * size, size,
+                    entry.getValue()[0]));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * Visit the occupied cells overlapping a block range, walking whichever is smaller:
+     * the cells of the range or the occupied cells of the world
+     */
+    private void forEachCell(World world, int minX, int minZ, int maxX, int maxZ,
+                             Consumer<Set<Location>> action) {
+        Map<Long, Set<Location>> cells = worlds.get(world.getName());
+        if (cells == null) {
+            return;
+        }
+
+        int minCellX = minX >> CELL_SHIFT;
+        int maxCellX = maxX >> CELL_SHIFT;
+        int minCellZ = minZ >> CELL_SHIFT;
+        int maxCellZ = maxZ >> CELL_SHIFT;
+        long rangeCells = (long) (maxCellX - minCellX + 1) * (maxCellZ - minCellZ + 1);
+
+        if (rangeCells <= cells.size()) {
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                    Set<Location> cell = cells.get(key(cellX, cellZ));
+                    if (cell != null) {
+                        action.accept(cell);
+                    }
+                }
+            }
+        } else {
+            for (Map.Entry<Long, Set<Location>> entry : cells.entrySet()) {
+                int cellX = keyX(entry.getKey());
+                int cellZ = keyZ(entry.getKey());
+                if (cellX >= minCellX && cellX <= maxCellX && cellZ >= minCellZ && cellZ <= maxCellZ) {
+                    action.accept(entry.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * A square of the grid and the number of printers in it
+     */
+    public static final class Cluster {
+        private final World world;
+        private final int minX;
+        private final int minZ;
+        private final int size;
+        private final int printers;
+
+        Cluster(World world, int minX, int minZ, int size, int printers) {
+            this.world = world;
+            this.minX = minX;
+            this.minZ = minZ;
+            this.size = size;
+            this.printers = printers;
+        }
+
+        public World getWorld() { return world; }
+        public int getMinX() { return minX; }
+        public int getMinZ() { return minZ; }
+        public int getSize() { return size; }
+        public int getPrinters() { return printers; }
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering one render of a printer GUI
+ */
+@Name("moneyprinter.PrinterGuiRender")
+@Label("Printer GUI Render")
+@Category({"Money Printer"})
+@Description("Printer GUI content built by PrinterGUI.updateGUIContent")
+@StackTrace(false)
+public class PrinterGuiRenderEvent extends Event {
+    @Label("Tier")
+    int tier;
+
+    @Label("Slots")
+    int slots;
+}
@@ -0,0 +1,299 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.TextDisplay;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Status text above printers, shown only to players nearby.
+ *
+ * A printer gets a non-persistent TextDisplay only while at least one player is within
+ * holograms.radius, and the display is only visible to those players. Printers report
+ * their changes to their hologram, which is re-rendered on the next update and only
+ * touched if the text actually changed. Holograms are removed when their chunk unloads.
+ */
+public class PrinterHolograms implements Listener {
+    // Ticks between checks of which printers each player is near
+    private static final long VIEW_INTERVAL = 10L;
+    // Ticks between text updates of changed printers
+    private static final long UPDATE_INTERVAL = 10L;
+
+    private final MoneyPrinterPlugin plugin;
+    private final Map<Location, Hologram> holograms = new ConcurrentHashMap<>();
+    // Printers each player currently sees a hologram of
+    private final Map<UUID, Set<Location>> viewing = new ConcurrentHashMap<>();
+    private final Queue<Hologram> changed = new ConcurrentLinkedQueue<>();
+
+    public PrinterHolograms(MoneyPrinterPlugin plugin) {
+        this.plugin = plugin;
+        plugin.getPrinterScheduler().runTimer(this::refreshViewers, VIEW_INTERVAL, VIEW_INTERVAL);
+        plugin.getPrinterScheduler().runTimer(this::updateChanged, UPDATE_INTERVAL, UPDATE_INTERVAL);
+    }
+
+    /**
+     * Check which printers every online player is near, each on the player's thread
+     */
+    private void refreshViewers() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            plugin.getPrinterScheduler().runForEntity(player, () -> refreshViewer(player), 0L);
+        }
+    }
+
+    private void refreshViewer(Player player) {
+        if (!player.isOnline()) {
+            return;
+        }
+
+        ConfigManager config = plugin.getConfigManager();
+        Set<Location> inRange = config.isHologramsEnabled()
+                ? new HashSet<>(plugin.getPrinterData().getPrintersNear(player.getLocation(), config.getHologramRadius()))
+                : new HashSet<>();
+        Set<Location> seen = viewing.computeIfAbsent(player.getUniqueId(), uuid -> ConcurrentHashMap.newKeySet());
+
+        for (Location loc : inRange) {
+            if (seen.add(loc)) {
+                show(player, loc);
+            }
+        }
+        seen.removeIf(loc -> {
+            if (inRange.contains(loc)) {
+                return false;
+            }
+            hide(player.getUniqueId(), loc);
+            return true;
+        });
+    }
+
+    /**
+     * Show a printer's hologram to a player, spawning it if nobody else sees it yet
+     */
+    private void show(Player player, Location loc) {
+        plugin.getPrinterScheduler().runAt(loc, () -> {
+            PrinterData.PrinterInfo printer = plugin.getPrinterData().getPrinter(loc);
+            if (printer == null || !player.isOnline()) {
+                return;
+            }
+
+            Hologram hologram = holograms.computeIfAbsent(loc, key -> new Hologram(key, printer));
+            hologram.viewers.add(player.getUniqueId());
+            if (hologram.entity == null || !hologram.entity.isValid()) {
+                spawn(hologram);
+            }
+            player.showEntity(plugin, hologram.entity);
+        });
+    }
+
+    /**
+     * Hide a printer's hologram from a player, removing it if nobody sees it anymore
+     */
+    private void hide(UUID playerId, Location loc) {
+        plugin.getPrinterScheduler().runAt(loc, () -> {
+            Hologram hologram = holograms.get(loc);
+            if (hologram == null) {
+                return;
+            }
+
+            hologram.viewers.remove(playerId);
+            Player player = Bukkit.getPlayer(playerId);
+            if (player != null && hologram.entity != null) {
+                player.hideEntity(plugin, hologram.entity);
+            }
+            if (hologram.viewers.isEmpty()) {
+                despawn(hologram);
+            }
+        });
+    }
+
+    private void spawn(Hologram hologram) {
+        hologram.text = render(hologram);
+        Location at = hologram.location.clone().add(0.5, plugin.getConfigManager().getHologramHeight(), 0.5);
+        hologram.entity = at.getWorld().spawn(at, TextDisplay.class, display -> {
+            display.setPersistent(false);
+            display.setVisibleByDefault(false);
+            display.setBillboard(Display.Billboard.CENTER);
+            display.setText(hologram.text);
+        });
+        hologram.printer.setHologram(hologram);
+        plugin.getMetrics().hologramsSpawned.set(holograms.size());
+    }
+
+    /**
+     * Remove a hologram's entity and forget it. Runs on the thread owning its location.
+     */
+    private void despawn(Hologram hologram) {
+        holograms.remove(hologram.location, hologram);
+        hologram.printer.setHologram(null);
+        if (hologram.entity != null) {
+            hologram.entity.remove();
+            hologram.entity = null;
+        }
+        plugin.getMetrics().hologramsSpawned.set(holograms.size());
+    }
+
+    /**
+     * Re-render holograms whose printer changed, updating only those whose text differs
+     */
+    private void updateChanged() {
+        Hologram hologram;
+        while ((hologram = changed.poll()) != null) {
+            hologram.queued.set(false);
+            if (holograms.get(hologram.location) != hologram) {
+                continue;
+            }
+
+            String text = render(hologram);
+            if (text.equals(hologram.text)) {
+                continue;
+            }
+            hologram.text = text;
+            Hologram target = hologram;
+            plugin.getPrinterScheduler().runAt(target.location, () -> {
+                if (target.entity != null) {
+                    target.entity.setText(text);
+                }
+            });
+        }
+    }
+
+    private String render(Hologram hologram) {
+        ConfigSnapshot config = plugin.getConfigManager().getSnapshot();
+        PrinterData.PrinterInfo printer = hologram.printer;
+        ConfigManager.TierConfig tierConfig = config.getTier(printer.getTier());
+
+        Map<String, String> placeholders = new HashMap<>();
+        placeholders.put("tier", tierConfig != null ? tierConfig.getName() : String.valueOf(printer.getTier()));
+        placeholders.put("fuel", printer.getFormattedFuelTime());
+        placeholders.put("money", String.format("%.2f", printer.getEarnings()));
+        placeholders.put("max-money", String.format("%.2f", config.getMaxMoneyStorage()));
+        return config.getHologramText(placeholders);
+    }
+
+    /**
+     * Remove the hologram of a printer that was removed
+     */
+    public void printerRemoved(Location loc) {
+        if (holograms.containsKey(loc)) {
+            plugin.getPrinterScheduler().runAt(loc, () -> {
+                Hologram hologram = holograms.get(loc);
+                if (hologram != null) {
+                    forget(hologram);
+                    despawn(hologram);
+                }
+            });
+        }
+    }
+
+    /**
+     * Remove all holograms, e.g. when the plugin is disabled
+     */
+    public void shutdown() {
+        for (Hologram hologram : holograms.values()) {
+            hologram.printer.setHologram(null);
+            // The displays are not persistent, so on Folia they simply vanish with their chunk
+            if (hologram.entity != null && !plugin.getPrinterScheduler().isRegionThreaded()) {
+                hologram.entity.remove();
+            }
+        }
+        holograms.clear();
+        viewing.clear();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        // Only the chunk's own printers can have a hologram in it
+        Chunk chunk = event.getChunk();
+        Set<Location> locations = plugin.getPrinterData().getChunkPrinters(chunk.getWorld().getName(),
+                chunk.getX(), chunk.getZ());
+        if (locations == null) {
+            return;
+        }
+        for (Location loc : locations) {
+            Hologram hologram = holograms.get(loc);
+            if (hologram != null) {
+                forget(hologram);
+                despawn(hologram);
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        World world = event.getWorld();
+        for (Hologram hologram : holograms.values()) {
+            if (hologram.location.getWorld() == world) {
+                forget(hologram);
+                despawn(hologram);
+            }
+        }
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        UUID playerId = event.getPlayer().getUniqueId();
+        Set<Location> seen = viewing.remove(playerId);
+        if (seen != null) {
+            for (Location loc : seen) {
+                hide(playerId, loc);
+            }
+        }
+    }
+
+    /**
+     * Drop a hologram from its viewers, so they see it again when it comes back in range
+     */
+    private void forget(Hologram hologram) {
+        for (UUID viewer : hologram.viewers) {
+            Set<Location> seen = viewing.get(viewer);
+            if (seen != null) {
+                seen.remove(hologram.location);
+            }
+        }
+        hologram.viewers.clear();
+    }
+
+    /**
+     * The hologram of one printer
+     */
+    final class Hologram {
+        final Location location;
+        final PrinterData.PrinterInfo printer;
+        final Set<UUID> viewers = ConcurrentHashMap.newKeySet();
+        final AtomicBoolean queued = new AtomicBoolean();
+        volatile TextDisplay entity;
+        volatile String text;
+
+        Hologram(Location location, PrinterData.PrinterInfo printer) {
+            this.location = location;
+            this.printer = printer;
+        }
+
+        /**
+         * Called by the printer when its state changed
+         */
+        void changed() {
+            if (queued.compareAndSet(false, true)) {
+                PrinterHolograms.this.changed.add(this);
+            }
+        }
+    }
+}
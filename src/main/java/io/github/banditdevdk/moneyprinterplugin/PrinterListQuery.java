@@ -0,0 +1,174 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Filter, sort and page settings for /mp list and the admin printer browser.
+ *
+ * A snapshot of the printer registry is taken first; filtering and sorting only
+ * touch the snapshot and can run off the main thread.
+ */
+public class PrinterListQuery {
+    public static final String USAGE = "§cUsage: /moneyprinter list [page] [owner:<player>] [world:<world>] "
+            + "[tier:<n>] [money:<min>] [nofuel] [sort:money|tier|fuel|world] [asc] [gui]";
+
+    public enum SortKey { MONEY, TIER, FUEL, WORLD }
+
+    private int page = 1;
+    private UUID owner;
+    private String world;
+    private int tier = -1;
+    private double minMoney;
+    private boolean emptyFuel;
+    private SortKey sort = SortKey.MONEY;
+    private boolean ascending;
+    private boolean gui;
+
+    /**
+     * Parse list arguments, starting after the sub command
+     */
+    public static PrinterListQuery parse(String[] args, int start, PlayerNameCache names) {
+        PrinterListQuery query = new PrinterListQuery();
+
+        for (int i = start; i < args.length; i++) {
+            String arg = args[i];
+            String lower = arg.toLowerCase(Locale.ROOT);
+
+            if (lower.equals("nofuel")) {
+                query.emptyFuel = true;
+            } else if (lower.equals("asc")) {
+                query.ascending = true;
+            } else if (lower.equals("gui")) {
+                query.gui = true;
+            } else if (lower.startsWith("owner:")) {
+                String name = arg.substring(6);
+                query.owner = names.getUniqueId(name);
+                if (query.owner == null) {
+                    throw new IllegalArgumentException("Unknown player: " + name);
+                }
+            } else if (lower.startsWith("world:")) {
+                query.world = arg.substring(6);
+            } else if (lower.startsWith("tier:")) {
+                query.tier = parseInt(arg.substring(5), "tier");
+            } else if (lower.startsWith("money:")) {
+                try {
+                    query.minMoney = Double.parseDouble(arg.substring(6));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid money amount: " + arg.substring(6));
+                }
+            } else if (lower.startsWith("sort:")) {
+                try {
+                    query.sort = SortKey.valueOf(arg.substring(5).toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Invalid sort key: " + arg.substring(5));
+                }
+            } else {
+                query.page = Math.max(1, parseInt(arg, "page"));
+            }
+        }
+
+        return query;
+    }
+
+    private static int parseInt(String value, String what) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + what + ": " + value);
+        }
+    }
+
+    /**
+     * Copy the fields needed for listing. Each printer is copied consistently, so this
+     * is safe to call from any thread.
+     */
+    public static List<Entry> snapshot(PrinterData data) {
+        Map<Location, PrinterData.PrinterInfo> printers = data.getAllPrinters();
+        List<Entry> entries = new ArrayList<>(printers.size());
+        for (Map.Entry<Location, PrinterData.PrinterInfo> entry : printers.entrySet()) {
+            Location loc = entry.getKey();
+            // Listing never shows friends, so skip copying them
+            PrinterData.Snapshot info = entry.getValue().snapshot(false);
+            entries.add(new Entry(loc.getWorld() != null ? loc.getWorld().getName() : "?",
+                    loc.getBlockX(), loc.getBlockY(), loc.getBlockZ(),
+                    info.owner, info.tier, info.earnings, info.fuelTime));
+        }
+        return entries;
+    }
+
+    /**
+     * Filter and sort a snapshot. Safe to call off the main thread.
+     */
+    public List<Entry> apply(List<Entry> snapshot) {
+        List<Entry> result = new ArrayList<>();
+        for (Entry entry : snapshot) {
+            if (owner != null && !owner.equals(entry.owner)) continue;
+            if (world != null && !world.equalsIgnoreCase(entry.world)) continue;
+            if (tier >= 0 && entry.tier != tier) continue;
+            if (entry.earnings < minMoney) continue;
+            if (emptyFuel && entry.fuelTime > 0) continue;
+            result.add(entry);
+        }
+
+        Comparator<Entry> comparator;
+        switch (sort) {
+            case TIER:
+                comparator = Comparator.comparingInt(e -> e.tier);
+                break;
+            case FUEL:
+                comparator = Comparator.comparingInt(e -> e.fuelTime);
+                break;
+            case WORLD:
+                comparator = Comparator.comparing((Entry e) -> e.world)
+                        .thenComparingInt(e -> e.x).thenComparingInt(e -> e.z).thenComparingInt(e -> e.y);
+                break;
+            default:
+                comparator = Comparator.comparingDouble(e -> e.earnings);
+                break;
+        }
+        // Numeric keys list the largest first unless asc is given; world sorts A-Z
+        boolean reverse = sort != SortKey.WORLD && !ascending;
+        result.sort(reverse ? comparator.reversed() : comparator);
+        return result;
+    }
+
+    public int getPage() { return page; }
+    public boolean isGui() { return gui; }
+
+    /**
+     * Immutable copy of one printer's listing fields
+     */
+    public static class Entry {
+        public final String world;
+        public final int x;
+        public final int y;
+        public final int z;
+        public final UUID owner;
+        public final int tier;
+        public final double earnings;
+        public final int fuelTime;
+
+        public Entry(String world, int x, int y, int z, UUID owner, int tier, double earnings, int fuelTime) {
+            this.world = world;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.owner = owner;
+            this.tier = tier;
+            this.earnings = earnings;
+            this.fuelTime = fuelTime;
+        }
+
+        public Location toLocation() {
+            return new Location(Bukkit.getWorld(world), x, y, z);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering the startup load of printer data
+ */
+@Name("moneyprinter.PrinterLoad")
+@Label("Printer Load")
+@Category({"Money Printer"})
+@Description("Printer data read from disk by PrinterData.loadData")
+@StackTrace(false)
+public class PrinterLoadEvent extends Event {
+    @Label("Printers")
+    int printers;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+}
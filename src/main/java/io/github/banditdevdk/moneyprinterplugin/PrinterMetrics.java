@@ -0,0 +1,420 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import com.sun.net.httpserver.HttpServer;
+import org.bukkit.command.CommandSender;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters, gauges and latency histograms for the plugin's hot paths.
+ *
+ * All metrics are created up front, so recording is lock-free and does not
+ * allocate. Values can be viewed with /mp stats and are exported in the
+ * Prometheus text format to a file and/or a local HTTP endpoint.
+ */
+public class PrinterMetrics {
+    // Latency bucket upper bounds in milliseconds
+    private static final double[] LATENCY_BUCKETS_MS = {
+            0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 25, 50, 100, 250, 500, 1000
+    };
+
+    private final MoneyPrinterPlugin plugin;
+    private final List<Metric> metrics = new ArrayList<>();
+
+    // Printer task
+    public final Histogram taskDuration;
+    public final Histogram taskSliceDuration;
+    public final Gauge taskBudget;
+    public final Gauge taskSlicesLastCycle;
+    public final Counter taskBudgetOverruns;
+    public final Counter printersProcessed;
+    public final Counter printersRemoved;
+    public final Gauge printerCount;
+    public final Gauge dormantPrinters;
+    public final DoubleCounter moneyMinted;
+    public final Gauge moneyMintedLastCycle;
+
+    // Persistence
+    public final Histogram saveDuration;
+    public final Counter saveBytesWritten;
+    public final Gauge saveLastBytes;
+    public final Counter saveShardsWritten;
+    public final Gauge loadDuration;
+    public final Gauge worldsLoaded;
+
+    // Cross-server sync
+    public final Counter syncMessagesSent;
+    public final Counter syncBytesSent;
+    public final Counter syncMessagesReceived;
+    public final Counter syncMessagesDropped;
+
+    // Holograms
+    public final Gauge hologramsSpawned;
+
+    // GUI
+    public final Histogram guiRenderDuration;
+    public final Histogram clickDuration;
+    public final Counter clicksRejected;
+
+    private PrinterScheduler.Task exportTask;
+    private HttpServer httpServer;
+
+    public PrinterMetrics(MoneyPrinterPlugin plugin) {
+        this.plugin = plugin;
+
+        taskDuration = register(new Histogram("moneyprinter_task_duration_seconds",
+                "Time spent in one printer task cycle"));
+        taskSliceDuration = register(new Histogram("moneyprinter_task_slice_duration_seconds",
+                "Time spent by the printer task in one server tick"));
+        taskBudget = register(new Gauge("moneyprinter_task_budget_seconds",
+                "Per-tick time budget of the printer task"));
+        taskSlicesLastCycle = register(new Gauge("moneyprinter_task_slices_last_cycle",
+                "Ticks the last printer task cycle was spread over"));
+        taskBudgetOverruns = register(new Counter("moneyprinter_task_budget_overruns_total",
+                "Printer task ticks that ran over the time budget"));
+        printersProcessed = register(new Counter("moneyprinter_task_printers_processed_total",
+                "Printers processed by the printer task"));
+        printersRemoved = register(new Counter("moneyprinter_task_printers_removed_total",
+                "Printers removed because their block was gone"));
+        printerCount = register(new Gauge("moneyprinter_printers",
+                "Printers currently registered"));
+        dormantPrinters = register(new Gauge("moneyprinter_printers_dormant",
+                "Printers in unloaded chunks"));
+        moneyMinted = register(new DoubleCounter("moneyprinter_money_minted_total",
+                "Money generated by printers"));
+        moneyMintedLastCycle = register(new Gauge("moneyprinter_money_minted_last_cycle",
+                "Money generated during the last printer task cycle"));
+
+        saveDuration = register(new Histogram("moneyprinter_save_duration_seconds",
+                "Time spent saving printer data"));
+        saveBytesWritten = register(new Counter("moneyprinter_save_bytes_written_total",
+                "Bytes written when saving printer data"));
+        saveLastBytes = register(new Gauge("moneyprinter_save_last_bytes",
+                "Size of the last printer data save in bytes"));
+        saveShardsWritten = register(new Counter("moneyprinter_save_shards_written_total",
+                "Dirty shard files rewritten when saving printer data"));
+        loadDuration = register(new Gauge("moneyprinter_load_duration_seconds",
+                "Time spent loading printer data at startup"));
+        worldsLoaded = register(new Gauge("moneyprinter_worlds_loaded",
+                "Worlds whose printer data is in memory"));
+
+        syncMessagesSent = register(new Counter("moneyprinter_sync_messages_sent_total",
+                "Messages published to the sync bus"));
+        syncBytesSent = register(new Counter("moneyprinter_sync_bytes_sent_total",
+                "Bytes published to the sync bus"));
+        syncMessagesReceived = register(new Counter("moneyprinter_sync_messages_received_total",
+                "Messages received from other servers on the sync bus"));
+        syncMessagesDropped = register(new Counter("moneyprinter_sync_messages_dropped_total",
+                "Sync messages dropped because the bus was unreachable"));
+
+        hologramsSpawned = register(new Gauge("moneyprinter_holograms",
+                "Printer holograms currently spawned for nearby players"));
+
+        guiRenderDuration = register(new Histogram("moneyprinter_gui_render_duration_seconds",
+                "Time spent rendering printer GUI content"));
+        clickDuration = register(new Histogram("moneyprinter_gui_click_duration_seconds",
+                "Time spent handling printer GUI clicks"));
+        clicksRejected = register(new Counter("moneyprinter_gui_clicks_rejected_total",
+                "Printer GUI clicks dropped by the per-player click limit"));
+    }
+
+    private <T extends Metric> T register(T metric) {
+        metrics.add(metric);
+        return metric;
+    }
+
+    /**
+     * Start the Prometheus file exporter and HTTP endpoint if configured
+     */
+    public void start() {
+        ConfigManager config = plugin.getConfigManager();
+
+        String fileName = config.getMetricsFile();
+        if (fileName != null && !fileName.isEmpty()) {
+            File file = new File(plugin.getDataFolder(), fileName);
+            long period = Math.max(1, config.getMetricsExportInterval()) * 20L;
+            exportTask = plugin.getPrinterScheduler().runAsyncTimer(() -> writeFile(file), period, period);
+        }
+
+        if (config.isMetricsHttpEnabled()) {
+            try {
+                httpServer = HttpServer.create(new InetSocketAddress(config.getMetricsHttpBind(),
+                        config.getMetricsHttpPort()), 0);
+                httpServer.createContext("/metrics", exchange -> {
+                    byte[] body = toPrometheus().getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+                    exchange.sendResponseHeaders(200, body.length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                    }
+                });
+                httpServer.start();
+                plugin.getLogger().info("Metrics endpoint listening on http://" + config.getMetricsHttpBind()
+                        + ":" + config.getMetricsHttpPort() + "/metrics");
+            } catch (IOException e) {
+                plugin.getLogger().severe("Could not start metrics endpoint!");
+                e.printStackTrace();
+                httpServer = null;
+            }
+        }
+    }
+
+    /**
+     * Stop exporters
+     */
+    public void shutdown() {
+        if (exportTask != null) {
+            exportTask.cancel();
+            exportTask = null;
+        }
+        if (httpServer != null) {
+            httpServer.stop(0);
+            httpServer = null;
+        }
+    }
+
+    /**
+     * Write all metrics to a file, replacing it atomically so scrapers never see a partial file
+     */
+    private void writeFile(File file) {
+        File temp = new File(file.getPath() + ".tmp");
+        try {
+            Files.write(temp.toPath(), toPrometheus().getBytes(StandardCharsets.UTF_8));
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not write metrics file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Render all metrics in the Prometheus text exposition format
+     */
+    public String toPrometheus() {
+        StringBuilder out = new StringBuilder(4096);
+        for (Metric metric : metrics) {
+            out.append("# HELP ").append(metric.name).append(' ').append(metric.help).append('\n');
+            out.append("# TYPE ").append(metric.name).append(' ').append(metric.type()).append('\n');
+            metric.writePrometheus(out);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Send a human readable summary to a command sender
+     */
+    public void sendStats(CommandSender sender) {
+        sender.sendMessage("§8§m━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+        sender.sendMessage("§2§lMoney Printer Stats");
+        sender.sendMessage("§8§m━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+        sender.sendMessage(String.format("§7Printers: §f%d §7(dormant §f%d§7) | Processed: §f%d §7| Removed: §f%d",
+                (long) printerCount.get(), (long) dormantPrinters.get(), printersProcessed.get(),
+                printersRemoved.get()));
+        sender.sendMessage(String.format("§7Money minted: §6%.2f$ §7(last cycle §6%.2f$§7)",
+                moneyMinted.get(), moneyMintedLastCycle.get()));
+        sender.sendMessage(formatHistogram("Task cycle", taskDuration));
+        sender.sendMessage(formatHistogram("Task slice", taskSliceDuration));
+        sender.sendMessage(String.format("§7Task budget: §f%.1fms§7/tick | Last cycle: §f%d §7ticks | Overruns: §f%d",
+                taskBudget.get() * 1000.0, (long) taskSlicesLastCycle.get(), taskBudgetOverruns.get()));
+        sender.sendMessage(formatHistogram("Save", saveDuration));
+        sender.sendMessage(String.format("§7Save size: §f%.1f KB §7| Total written: §f%.1f MB §7in §f%d §7shards",
+                saveLastBytes.get() / 1024.0, saveBytesWritten.get() / (1024.0 * 1024.0), saveShardsWritten.get()));
+        sender.sendMessage(String.format("§7Startup load: §f%.0fms §7| Worlds loaded: §f%d §7| Holograms: §f%d",
+                loadDuration.get() * 1000.0, (long) worldsLoaded.get(), (long) hologramsSpawned.get()));
+        if (plugin.getPrinterSync() != null) {
+            sender.sendMessage(String.format("§7Sync: §f%d §7sent (§f%.1f KB§7) | §f%d §7received | §f%d §7dropped",
+                    syncMessagesSent.get(), syncBytesSent.get() / 1024.0, syncMessagesReceived.get(),
+                    syncMessagesDropped.get()));
+        }
+        sender.sendMessage(formatHistogram("GUI render", guiRenderDuration));
+        sender.sendMessage(formatHistogram("GUI click", clickDuration));
+        sender.sendMessage(String.format("§7GUI clicks rejected: §f%d", clicksRejected.get()));
+    }
+
+    private String formatHistogram(String label, Histogram histogram) {
+        return String.format("§7%s: §f%d §7calls | avg §f%.2fms §7| p50 §f%sms §7| p99 §f%sms",
+                label, histogram.getCount(), histogram.getMeanMillis(),
+                formatBound(histogram.percentileMillis(0.50)), formatBound(histogram.percentileMillis(0.99)));
+    }
+
+    private String formatBound(double millis) {
+        return Double.isInfinite(millis) ? ">" + LATENCY_BUCKETS_MS[LATENCY_BUCKETS_MS.length - 1]
+                : "≤" + millis;
+    }
+
+    /**
+     * Base class for all metrics
+     */
+    public abstract static class Metric {
+        final String name;
+        final String help;
+
+        Metric(String name, String help) {
+            this.name = name;
+            this.help = help;
+        }
+
+        abstract String type();
+
+        abstract void writePrometheus(StringBuilder out);
+    }
+
+    /**
+     * Monotonically increasing integer counter
+     */
+    public static class Counter extends Metric {
+        private final LongAdder value = new LongAdder();
+
+        Counter(String name, String help) {
+            super(name, help);
+        }
+
+        public void increment() { value.increment(); }
+        public void add(long amount) { value.add(amount); }
+        public long get() { return value.sum(); }
+
+        @Override
+        String type() { return "counter"; }
+
+        @Override
+        void writePrometheus(StringBuilder out) {
+            out.append(name).append(' ').append(value.sum()).append('\n');
+        }
+    }
+
+    /**
+     * Monotonically increasing decimal counter
+     */
+    public static class DoubleCounter extends Metric {
+        private final DoubleAdder value = new DoubleAdder();
+
+        DoubleCounter(String name, String help) {
+            super(name, help);
+        }
+
+        public void add(double amount) { value.add(amount); }
+        public double get() { return value.sum(); }
+
+        @Override
+        String type() { return "counter"; }
+
+        @Override
+        void writePrometheus(StringBuilder out) {
+            out.append(name).append(' ').append(value.sum()).append('\n');
+        }
+    }
+
+    /**
+     * Value that can go up and down
+     */
+    public static class Gauge extends Metric {
+        private volatile double value;
+
+        Gauge(String name, String help) {
+            super(name, help);
+        }
+
+        public void set(double value) { this.value = value; }
+        public double get() { return value; }
+
+        @Override
+        String type() { return "gauge"; }
+
+        @Override
+        void writePrometheus(StringBuilder out) {
+            out.append(name).append(' ').append(value).append('\n');
+        }
+    }
+
+    /**
+     * Latency histogram with fixed buckets, recorded in nanoseconds
+     */
+    public static class Histogram extends Metric {
+        private final long[] boundsNanos = new long[LATENCY_BUCKETS_MS.length];
+        private final AtomicLongArray buckets = new AtomicLongArray(LATENCY_BUCKETS_MS.length + 1);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sumNanos = new LongAdder();
+
+        Histogram(String name, String help) {
+            super(name, help);
+            for (int i = 0; i < boundsNanos.length; i++) {
+                boundsNanos[i] = (long) (LATENCY_BUCKETS_MS[i] * 1_000_000L);
+            }
+        }
+
+        public void record(long nanos) {
+            int i = 0;
+            while (i < boundsNanos.length && nanos > boundsNanos[i]) {
+                i++;
+            }
+            buckets.incrementAndGet(i);
+            count.increment();
+            sumNanos.add(nanos);
+        }
+
+        /**
+         * Record the time elapsed since a System.nanoTime() start value
+         */
+        public void recordSince(long startNanos) {
+            record(System.nanoTime() - startNanos);
+        }
+
+        public long getCount() { return count.sum(); }
+
+        public double getMeanMillis() {
+            long n = count.sum();
+            return n == 0 ? 0.0 : sumNanos.sum() / (double) n / 1_000_000.0;
+        }
+
+        /**
+         * Upper bound (in milliseconds) of the bucket containing the given percentile
+         */
+        public double percentileMillis(double percentile) {
+            long total = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                total += buckets.get(i);
+            }
+            if (total == 0) {
+                return 0.0;
+            }
+
+            long target = (long) Math.ceil(total * percentile);
+            long seen = 0;
+            for (int i = 0; i < LATENCY_BUCKETS_MS.length; i++) {
+                seen += buckets.get(i);
+                if (seen >= target) {
+                    return LATENCY_BUCKETS_MS[i];
+                }
+            }
+            return Double.POSITIVE_INFINITY;
+        }
+
+        @Override
+        String type() { return "histogram"; }
+
+        @Override
+        void writePrometheus(StringBuilder out) {
+            long cumulative = 0;
+            for (int i = 0; i < LATENCY_BUCKETS_MS.length; i++) {
+                cumulative += buckets.get(i);
+                out.append(name).append("_bucket{le=\"").append(LATENCY_BUCKETS_MS[i] / 1000.0).append("\"} ")
+                        .append(cumulative).append('\n');
+            }
+            cumulative += buckets.get(LATENCY_BUCKETS_MS.length);
+            out.append(name).append("_bucket{le=\"+Inf\"} ").append(cumulative).append('\n');
+            out.append(name).append("_sum ").append(sumNanos.sum() / 1_000_000_000.0).append('\n');
+            out.append(name).append("_count ").append(count.sum()).append('\n');
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering one save of printer data
+ */
+@Name("moneyprinter.PrinterSave")
+@Label("Printer Save")
+@Category({"Money Printer"})
+@Description("Printer data written to disk by PrinterData.saveData")
+@StackTrace(false)
+public class PrinterSaveEvent extends Event {
+    @Label("Printers")
+    int printers;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+}
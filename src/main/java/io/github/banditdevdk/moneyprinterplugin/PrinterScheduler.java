@@ -0,0 +1,90 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import org.bukkit.Location;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
+
+/**
+ * Scheduling abstraction so the plugin runs on both Paper and Folia.
+ *
+ * On Paper everything except async work runs on the main thread. On Folia, global
+ * work runs on the global region, location work on the region owning the location
+ * and entity work on the entity's scheduler.
+ */
+public interface PrinterScheduler {
+
+    /**
+     * Create the scheduler matching the running server
+     */
+    static PrinterScheduler create(MoneyPrinterPlugin plugin) {
+        return isFolia() ? new FoliaPrinterScheduler(plugin) : new BukkitPrinterScheduler(plugin);
+    }
+
+    static boolean isFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Whether the server ticks regions on separate threads
+     */
+    boolean isRegionThreaded();
+
+    /**
+     * Run a repeating task on the main thread (global region on Folia)
+     */
+    Task runTimer(Runnable task, long delayTicks, long periodTicks);
+
+    /**
+     * Run a task on the next tick on the main thread (global region on Folia)
+     */
+    void runGlobal(Runnable task);
+
+    /**
+     * Run a task on the thread owning a location
+     */
+    void runAt(Location location, Runnable task);
+
+    /**
+     * Run a task on the thread owning an entity after a delay. With no delay the task
+     * runs immediately if the current thread already owns the entity.
+     */
+    void runForEntity(Entity entity, Runnable task, long delayTicks);
+
+    /**
+     * Run a task for a command sender: on its entity's thread for players, otherwise globally
+     */
+    default void runForSender(CommandSender sender, Runnable task) {
+        if (sender instanceof Entity) {
+            runForEntity((Entity) sender, task, 0L);
+        } else {
+            runGlobal(task);
+        }
+    }
+
+    /**
+     * Run a task off the server threads
+     */
+    void runAsync(Runnable task);
+
+    /**
+     * Run a repeating task off the server threads
+     */
+    Task runAsyncTimer(Runnable task, long delayTicks, long periodTicks);
+
+    /**
+     * Cancel every task scheduled by the plugin
+     */
+    void cancelAll();
+
+    /**
+     * Handle to a repeating task
+     */
+    interface Task {
+        void cancel();
+    }
+}
@@ -0,0 +1,361 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shares printer state between the servers of a network over a PrinterBus.
+ *
+ * Each server publishes per-owner summaries (printer count and stored money) of the
+ * printers it hosts. Only owners that changed since the last publish are sent, batched
+ * every sync.publish-interval seconds, so bus traffic follows player activity rather
+ * than the number of printers. Summaries the bus drops are sent again on the next publish,
+ * and every (re)connect of the bus starts a full exchange, so a remote view never stays
+ * stale after an outage. Players can collect the money of their printers on other
+ * servers; the request is routed to the server hosting them, which pays out through the
+ * shared economy.
+ *
+ * Messages are lines separated by \n, the first being "<type> <server> ...":
+ * S (summaries, followed by "<owner> <printers> <money>" lines), H (hello, asks everyone
+ * for all their summaries), P (heartbeat), B (bye), C (collect request) and R (collect result).
+ */
+public class PrinterSync {
+    // Owners per summary message
+    private static final int BATCH_SIZE = 500;
+    // Publish intervals without a message before a server counts as offline
+    private static final int OFFLINE_INTERVALS = 3;
+    private static final long REQUEST_TIMEOUT_MILLIS = 10_000L;
+
+    private final MoneyPrinterPlugin plugin;
+    private final PrinterBus bus;
+    private final String serverId;
+    private final long intervalMillis;
+    private final Map<String, RemoteServer> servers = new ConcurrentHashMap<>();
+    private final Map<String, PendingCollect> pending = new ConcurrentHashMap<>();
+    private PrinterScheduler.Task task;
+    // Set when a hello was dropped, to send it again on the next publish
+    private volatile boolean helloPending;
+
+    public PrinterSync(MoneyPrinterPlugin plugin, PrinterBus bus) {
+        this.plugin = plugin;
+        this.bus = bus;
+        this.serverId = plugin.getConfigManager().getSyncServerId();
+        this.intervalMillis = plugin.getConfigManager().getSyncPublishInterval() * 1000L;
+    }
+
+    public void start() {
+        plugin.getLeaderboards().trackChanges();
+        bus.subscribe(this::receive);
+        bus.onConnect(this::connected);
+        bus.onDropped(this::dropped);
+        bus.start();
+
+        long ticks = intervalMillis / 50;
+        task = plugin.getPrinterScheduler().runTimer(this::publishChanges, ticks, ticks);
+        plugin.getLogger().info("Printer sync started as " + serverId + " on the "
+                + plugin.getConfigManager().getSyncBus() + " bus");
+    }
+
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+        }
+        // This server's printers can't be collected while it is down
+        send("B " + serverId);
+        bus.close();
+    }
+
+    public String getServerId() {
+        return serverId;
+    }
+
+    /**
+     * Get the summaries of an owner's printers on other online servers, by server id
+     */
+    public Map<String, Summary> getRemoteSummaries(UUID owner) {
+        Map<String, Summary> result = new TreeMap<>();
+        long cutoff = System.currentTimeMillis() - intervalMillis * OFFLINE_INTERVALS;
+        for (Map.Entry<String, RemoteServer> entry : servers.entrySet()) {
+            RemoteServer server = entry.getValue();
+            Summary summary = server.owners.get(owner);
+            if (summary != null && server.lastSeen >= cutoff) {
+                result.put(entry.getKey(), summary);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Ask every other server holding money of the player's printers to pay it out,
+     * returning the number of servers asked
+     */
+    public int requestCollect(Player player) {
+        UUID owner = player.getUniqueId();
+        int requests = 0;
+        for (Map.Entry<String, Summary> entry : getRemoteSummaries(owner).entrySet()) {
+            if (entry.getValue().getMoney() <= 0) {
+                continue;
+            }
+            String requestId = UUID.randomUUID().toString();
+            pending.put(requestId, new PendingCollect(owner, entry.getKey(), System.currentTimeMillis()));
+            send("C " + serverId + " " + entry.getKey() + " " + requestId + " " + owner);
+            requests++;
+        }
+        return requests;
+    }
+
+    /**
+     * Announce this server, asking the others for all their summaries, and send all of
+     * ours on the next publish. Runs on every (re)connect of the bus, since either side
+     * may have missed messages while it was down.
+     */
+    private void connected() {
+        send("H " + serverId);
+        plugin.getLeaderboards().markAllChanged();
+    }
+
+    /**
+     * Publish the owners of summaries the bus dropped again on the next publish.
+     * Runs on the thread that published or on the bus thread.
+     */
+    private void dropped(String message) {
+        if (message.startsWith("H ")) {
+            helloPending = true;
+            return;
+        }
+        if (!message.startsWith("S ")) {
+            return;
+        }
+        List<UUID> owners = new ArrayList<>();
+        String[] lines = message.split("\n");
+        for (int i = 1; i < lines.length; i++) {
+            int end = lines[i].indexOf(' ');
+            owners.add(UUID.fromString(end < 0 ? lines[i] : lines[i].substring(0, end)));
+        }
+        plugin.getLeaderboards().markChanged(owners);
+    }
+
+    /**
+     * Publish the summaries of owners that changed, or a heartbeat if none did.
+     * Runs every publish interval.
+     */
+    private void publishChanges() {
+        if (helloPending) {
+            helloPending = false;
+            send("H " + serverId);
+        }
+        Leaderboards boards = plugin.getLeaderboards();
+        Set<UUID> changed = boards.drainChanged();
+        if (changed.isEmpty()) {
+            send("P " + serverId);
+        } else {
+            StringBuilder batch = null;
+            int lines = 0;
+            for (UUID owner : changed) {
+                if (batch == null) {
+                    batch = new StringBuilder("S ").append(serverId);
+                }
+                batch.append('\n').append(owner)
+                        .append(' ').append((int) boards.getValue(Leaderboards.Board.PRINTERS, owner))
+                        .append(' ').append(formatMoney(boards.getValue(Leaderboards.Board.MONEY, owner)));
+                if (++lines == BATCH_SIZE) {
+                    send(batch.toString());
+                    batch = null;
+                    lines = 0;
+                }
+            }
+            if (batch != null) {
+                send(batch.toString());
+            }
+        }
+
+        expireRequests();
+    }
+
+    /**
+     * Tell players about collect requests that got no answer
+     */
+    private void expireRequests() {
+        long cutoff = System.currentTimeMillis() - REQUEST_TIMEOUT_MILLIS;
+        Iterator<PendingCollect> iterator = pending.values().iterator();
+        while (iterator.hasNext()) {
+            PendingCollect request = iterator.next();
+            if (request.sentAt < cutoff) {
+                iterator.remove();
+                Map<String, String> placeholders = new HashMap<>();
+                placeholders.put("server", request.server);
+                notify(request.player, plugin.getConfigManager().getMessage("network-timeout", placeholders));
+            }
+        }
+    }
+
+    private void send(String message) {
+        PrinterMetrics metrics = plugin.getMetrics();
+        metrics.syncMessagesSent.increment();
+        metrics.syncBytesSent.add(message.length());
+        bus.publish(message);
+    }
+
+    /**
+     * Handle a message from the bus. Runs on the bus thread.
+     */
+    private void receive(String message) {
+        String[] lines = message.split("\n");
+        String[] header = lines[0].split(" ");
+        if (header.length < 2 || header[1].equals(serverId)) {
+            return;
+        }
+        plugin.getMetrics().syncMessagesReceived.increment();
+
+        String from = header[1];
+        try {
+            switch (header[0]) {
+                case "S":
+                    RemoteServer server = seen(from);
+                    for (int i = 1; i < lines.length; i++) {
+                        String[] fields = lines[i].split(" ");
+                        UUID owner = UUID.fromString(fields[0]);
+                        int printers = Integer.parseInt(fields[1]);
+                        double money = Double.parseDouble(fields[2]);
+                        if (printers <= 0 && money <= 0) {
+                            server.owners.remove(owner);
+                        } else {
+                            server.owners.put(owner, new Summary(printers, money));
+                        }
+                    }
+                    break;
+                case "H":
+                    // A server joined; send it everything on the next publish
+                    seen(from);
+                    plugin.getLeaderboards().markAllChanged();
+                    break;
+                case "P":
+                    seen(from);
+                    break;
+                case "B":
+                    servers.remove(from);
+                    break;
+                case "C":
+                    if (header.length == 5 && header[2].equals(serverId)) {
+                        handleCollectRequest(from, header[3], UUID.fromString(header[4]));
+                    }
+                    break;
+                case "R":
+                    if (header.length == 6 && header[2].equals(serverId)) {
+                        handleCollectResult(from, header[3], Double.parseDouble(header[5]));
+                    }
+                    break;
+                default:
+                    break;
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            plugin.getLogger().warning("Ignoring invalid sync message from " + from + ": " + e.getMessage());
+        }
+    }
+
+    private RemoteServer seen(String server) {
+        RemoteServer remote = servers.computeIfAbsent(server, id -> new RemoteServer());
+        remote.lastSeen = System.currentTimeMillis();
+        return remote;
+    }
+
+    /**
+     * Pay out an owner's printers on this server for another server's collect request
+     */
+    private void handleCollectRequest(String from, String requestId, UUID owner) {
+        plugin.getPrinterScheduler().runGlobal(() -> {
+            double total = 0;
+            for (Location loc : plugin.getPrinterData().getPrinterLocationsByOwner(owner)) {
+                PrinterData.PrinterInfo printer = plugin.getPrinterData().getPrinter(loc);
+                if (printer == null) {
+                    continue;
+                }
+                // Taken atomically, so a local collect at the same time can't pay twice
+                double earnings = printer.takeEarnings();
+                if (earnings > 0) {
+                    total += earnings;
+                    plugin.getAuditLog().record(AuditLog.REMOTE_COLLECT, loc, owner, owner,
+                            printer.getTier(), earnings);
+                }
+            }
+
+            if (total > 0) {
+                plugin.getEconomy().depositPlayer(Bukkit.getOfflinePlayer(owner), total);
+                plugin.getPrinterData().saveData();
+            }
+            send("R " + serverId + " " + from + " " + requestId + " " + owner + " " + formatMoney(total));
+        });
+    }
+
+    /**
+     * Tell the player how much another server paid out
+     */
+    private void handleCollectResult(String from, String requestId, double amount) {
+        PendingCollect request = pending.remove(requestId);
+        if (request == null) {
+            return;
+        }
+
+        Map<String, String> placeholders = new HashMap<>();
+        placeholders.put("server", from);
+        placeholders.put("amount", formatMoney(amount));
+        notify(request.player, plugin.getConfigManager().getMessage(
+                amount > 0 ? "network-collected" : "network-no-money", placeholders));
+    }
+
+    private void notify(UUID playerId, String message) {
+        Player player = Bukkit.getPlayer(playerId);
+        if (player != null) {
+            plugin.getPrinterScheduler().runForEntity(player, () -> player.sendMessage(message), 0L);
+        }
+    }
+
+    private static String formatMoney(double amount) {
+        return String.format(Locale.ROOT, "%.2f", amount);
+    }
+
+    /**
+     * An owner's printers on one server
+     */
+    public static final class Summary {
+        private final int printers;
+        private final double money;
+
+        Summary(int printers, double money) {
+            this.printers = printers;
+            this.money = money;
+        }
+
+        public int getPrinters() { return printers; }
+        public double getMoney() { return money; }
+    }
+
+    private static final class RemoteServer {
+        final Map<UUID, Summary> owners = new ConcurrentHashMap<>();
+        volatile long lastSeen;
+    }
+
+    private static final class PendingCollect {
+        final UUID player;
+        final String server;
+        final long sentAt;
+
+        PendingCollect(UUID player, String server, long sentAt) {
+            this.player = player;
+            this.server = server;
+            this.sentAt = sentAt;
+        }
+    }
+}
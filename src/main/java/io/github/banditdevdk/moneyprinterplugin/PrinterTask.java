@@ -3,131 +3,385 @@ package io.github.banditdevdk.moneyprinterplugin;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
-import org.bukkit.OfflinePlayer;
-import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.entity.Player;
 
-import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
 
 /**
- * Task that runs every 10 seconds to manage printers
+ * Task that manages printers, starting a cycle every 10 seconds.
+ *
+ * On Paper a cycle walks the active printers with a resumable cursor, using at most
+ * performance.task-budget-ms per tick and continuing on the next tick if it did not
+ * finish. Each printer is paid for the time that passed since it was last processed,
+ * so spreading a cycle over several ticks does not change the results.
+ *
+ * Only printers in loaded chunks are processed; dormant printers are settled in one
+ * step by settle when their chunk loads again. On Folia each chunk's printers are
+ * processed on the region thread owning the chunk.
  */
-public class PrinterTask extends BukkitRunnable {
+public class PrinterTask implements Runnable {
+    // Seconds between cycles
+    static final int CYCLE_SECONDS = 10;
+    static final long CYCLE_MILLIS = CYCLE_SECONDS * 1000L;
+    private static final int CYCLE_TICKS = CYCLE_SECONDS * 20;
+    // Printers processed between budget checks
+    private static final int CHECK_INTERVAL = 16;
+
     private final MoneyPrinterPlugin plugin;
+    private PrinterScheduler.Task task;
+    private LongSupplier clock = System::currentTimeMillis;
+    private int ticksUntilCycle = CYCLE_TICKS;
+    // Cycle in progress on Paper and its cursor, null between cycles
+    private Cycle cycle;
+    private Iterator<Map.Entry<Location, PrinterData.PrinterInfo>> cursor;
 
     public PrinterTask(MoneyPrinterPlugin plugin) {
         this.plugin = plugin;
     }
 
+    /**
+     * Schedule the task to run every tick
+     */
+    public void start() {
+        task = plugin.getPrinterScheduler().runTimer(this, 1L, 1L);
+    }
+
+    public void cancel() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Replace the wall clock used for elapsed time, for simulations that tick faster than real time
+     */
+    void setClock(LongSupplier clock) {
+        this.clock = clock;
+    }
+
     @Override
     public void run() {
-        ConfigManager config = plugin.getConfigManager();
-        Map<Location, PrinterData.PrinterInfo> printers = plugin.getPrinterData().getAllPrinters();
-        List<Location> toRemove = new ArrayList<>();
-
-        // Calculate how many ticks equal one generation interval
-        int generationIntervalMinutes = config.getGenerationInterval();
-        int ticksPerInterval = (generationIntervalMinutes * 60) / 10; // Each tick = 10 seconds
-
-        for (Map.Entry<Location, PrinterData.PrinterInfo> entry : printers.entrySet()) {
-            Location loc = entry.getKey();
-            PrinterData.PrinterInfo printer = entry.getValue();
-
-            // Check if block still exists
-            if (loc.getBlock().getType() != Material.PLAYER_HEAD) {
-                toRemove.add(loc);
-                continue;
-            }
+        if (--ticksUntilCycle <= 0 && cycle == null) {
+            ticksUntilCycle = CYCLE_TICKS;
+            beginCycle();
+        }
+        if (cycle != null) {
+            runSlice();
+        }
+    }
 
-            boolean canGenerate = true;
-
-            // Handle fuel system if enabled
-            if (config.isFuelEnabled()) {
-                // Process fuel and earnings
-                if (printer.getFuelTime() > 0) {
-                    // Consume fuel (10 seconds)
-                    printer.setFuelTime(Math.max(0, printer.getFuelTime() - 10));
-                    canGenerate = true;
-                } else {
-                    // Printer is out of fuel - don't generate money
-                    canGenerate = false;
-
-                    // Notify if enabled and not already notified
-                    // (but NOT on login - only during active gameplay)
-                    if (config.shouldNotifyFuelEmpty() && !printer.hasNotifiedEmpty()) {
-                        OfflinePlayer owner = Bukkit.getOfflinePlayer(printer.getOwner());
-                        // Only notify if player is currently online (not on join)
-                        if (owner.isOnline() && owner.getPlayer() != null) {
-                            printer.setNotifiedEmpty(true);
-                            Map<String, String> placeholders = createPlaceholders("fuel",
-                                    config.getFuelMaterial().name().toLowerCase().replace("_", " "));
-                            notifyPlayer(printer.getOwner(), "fuel-empty-notification", placeholders);
-                        }
-                    }
+    /**
+     * Run one complete cycle at the given time, ignoring the tick budget. Used by
+     * benchmarks and trace replay, which drive the task themselves.
+     */
+    void runCycle(long now) {
+        beginCycle();
+        if (cycle == null) {
+            return; // Handed to the region threads
+        }
+        PrinterTickEvent tickEvent = new PrinterTickEvent();
+        tickEvent.begin();
+        while (cursor.hasNext()) {
+            Map.Entry<Location, PrinterData.PrinterInfo> entry = cursor.next();
+            processPrinter(entry.getKey(), entry.getValue(), cycle, now, tickEvent);
+        }
+        Cycle finished = cycle;
+        cycle = null;
+        cursor = null;
+        finished.slices = 1;
+        tickEvent.slice = 1;
+        tickEvent.removed = finish(finished);
+        tickEvent.cycleFinished = true;
+        commit(tickEvent);
+    }
+
+    private void beginCycle() {
+        if (plugin.getEventRecorder() != null) {
+            plugin.getEventRecorder().recordTask();
+        }
+
+        Cycle next = new Cycle(plugin.getConfigManager().getSnapshot());
+        if (plugin.getPrinterScheduler().isRegionThreaded()) {
+            runRegions(next);
+            return;
+        }
+        cycle = next;
+        cursor = plugin.getPrinterData().getActivePrinters().entrySet().iterator();
+    }
+
+    /**
+     * Process printers until the cursor is done or this tick's budget is used up
+     */
+    private void runSlice() {
+        // One event per slice, so it lines up with the tick it ran in
+        PrinterTickEvent tickEvent = new PrinterTickEvent();
+        tickEvent.begin();
+        long start = System.nanoTime();
+        long budget = (long) (cycle.config.getTaskBudgetMs() * 1_000_000L);
+        long deadline = start + budget;
+        long now = clock.getAsLong();
+
+        int sinceCheck = 0;
+        while (cursor.hasNext()) {
+            Map.Entry<Location, PrinterData.PrinterInfo> entry = cursor.next();
+            processPrinter(entry.getKey(), entry.getValue(), cycle, now, tickEvent);
+            if (++sinceCheck == CHECK_INTERVAL) {
+                sinceCheck = 0;
+                if (System.nanoTime() >= deadline) {
+                    break;
                 }
-            } else {
-                // Fuel is disabled - always generate
-                canGenerate = true;
             }
+        }
 
-            // Generate money if conditions are met
-            if (canGenerate) {
-                // Check if printer is at max storage
-                double maxStorage = config.getMaxMoneyStorage();
-                if (printer.getEarnings() >= maxStorage) {
-                    // Notify if enabled and not already notified
-                    if (config.shouldNotifyStorageFull() && !printer.hasNotifiedFull()) {
-                        printer.setNotifiedFull(true);
-                        notifyPlayer(printer.getOwner(), "storage-full-notification",
-                                createPlaceholders("money", String.format("%.2f", printer.getEarnings())));
+        long elapsed = System.nanoTime() - start;
+        PrinterMetrics metrics = plugin.getMetrics();
+        metrics.taskSliceDuration.record(elapsed);
+        metrics.taskBudget.set(budget / 1_000_000_000.0);
+        if (elapsed > budget) {
+            metrics.taskBudgetOverruns.increment();
+        }
+        cycle.busyNanos += elapsed;
+        cycle.slices++;
+        tickEvent.slice = cycle.slices;
+
+        if (!cursor.hasNext()) {
+            Cycle finished = cycle;
+            cycle = null;
+            cursor = null;
+            tickEvent.removed = finish(finished);
+            tickEvent.cycleFinished = true;
+        }
+        commit(tickEvent);
+    }
+
+    /**
+     * Hand each chunk's printers to the region thread owning it. The last region to
+     * finish completes the cycle on the global region.
+     */
+    private void runRegions(Cycle cycle) {
+        PrinterScheduler scheduler = plugin.getPrinterScheduler();
+        List<List<Location>> chunks = plugin.getPrinterData().getActivePrintersByChunk();
+        if (chunks.isEmpty()) {
+            finishRegions(cycle);
+            return;
+        }
+
+        AtomicInteger remaining = new AtomicInteger(chunks.size());
+        for (List<Location> chunk : chunks) {
+            scheduler.runAt(chunk.get(0), () -> {
+                PrinterTickEvent tickEvent = new PrinterTickEvent();
+                tickEvent.begin();
+                long now = clock.getAsLong();
+                for (Location loc : chunk) {
+                    PrinterData.PrinterInfo printer = plugin.getPrinterData().getPrinter(loc);
+                    if (printer != null) {
+                        processPrinter(loc, printer, cycle, now, tickEvent);
                     }
-                    // Don't generate more money
-                    continue;
                 }
+                commit(tickEvent);
+                if (remaining.decrementAndGet() == 0) {
+                    scheduler.runGlobal(() -> finishRegions(cycle));
+                }
+            });
+        }
+    }
+
+    /**
+     * Finish a cycle processed by the region threads, as its own event on the global region
+     */
+    private void finishRegions(Cycle cycle) {
+        PrinterTickEvent tickEvent = new PrinterTickEvent();
+        tickEvent.begin();
+        tickEvent.removed = finish(cycle);
+        tickEvent.cycleFinished = true;
+        commit(tickEvent);
+    }
 
-                // Increment tick counter
-                printer.setFuelTicks(printer.getFuelTicks() + 1);
+    private static void commit(PrinterTickEvent tickEvent) {
+        tickEvent.end();
+        if (tickEvent.shouldCommit()) {
+            tickEvent.commit();
+        }
+    }
 
-                // Pay every X ticks based on generation interval
-                if (printer.getFuelTicks() >= ticksPerInterval) {
-                    printer.setFuelTicks(0);
+    /**
+     * Burn fuel and generate money for one printer for the time since it was last
+     * processed. Runs on the thread owning its chunk.
+     */
+    private void processPrinter(Location loc, PrinterData.PrinterInfo printer, Cycle cycle, long now,
+                                PrinterTickEvent tickEvent) {
+        // Its chunk unloaded while the cycle was in progress; it is settled when the chunk loads
+        if (printer.isDormant()) {
+            return;
+        }
 
-                    // Add earnings based on tier from config
-                    double earnings = printer.getEarningsRate(config);
-                    double newEarnings = Math.min(printer.getEarnings() + earnings, maxStorage);
-                    printer.setEarnings(newEarnings);
+        // The first run after a printer becomes active counts as one cycle
+        long lastRun = printer.getLastRun();
+        if (lastRun == 0) {
+            lastRun = now - CYCLE_MILLIS;
+        }
+        // Round to whole cycles so tick jitter does not skip a printer; the remainder carries over
+        long cycles = (now - lastRun + CYCLE_MILLIS / 2) / CYCLE_MILLIS;
+        if (cycles <= 0) {
+            return;
+        }
+        printer.setLastRun(lastRun + cycles * CYCLE_MILLIS);
+        cycle.processed.increment();
+        tickEvent.printers++;
 
-                    // Check if just reached max and notify
-                    if (newEarnings >= maxStorage && config.shouldNotifyStorageFull() && !printer.hasNotifiedFull()) {
-                        printer.setNotifiedFull(true);
-                        notifyPlayer(printer.getOwner(), "storage-full-notification",
-                                createPlaceholders("money", String.format("%.2f", newEarnings)));
-                    }
-                }
-            }
+        // Check if block still exists
+        if (loc.getBlock().getType() != Material.PLAYER_HEAD) {
+            cycle.toRemove.add(loc);
+            return;
         }
 
-        // Remove invalid printers
-        for (Location loc : toRemove) {
+        double minted = advance(loc, printer, cycles, cycle.config, cycle.ticksPerInterval, true);
+        cycle.minted.add(minted);
+        tickEvent.moneyMinted += minted;
+    }
+
+    /**
+     * Remove invalid printers, save and record metrics for a finished cycle, returning the
+     * number of printers removed
+     */
+    private int finish(Cycle cycle) {
+        int removed = 0;
+        for (Location loc : cycle.toRemove) {
             plugin.getPrinterData().removePrinter(loc);
+            removed++;
         }
 
         // Save data periodically
-        if (!toRemove.isEmpty() || !printers.isEmpty()) {
+        long processed = cycle.processed.sum();
+        if (removed > 0 || processed > 0) {
             plugin.getPrinterData().saveData();
         }
+
+        double minted = cycle.minted.sum();
+        PrinterMetrics metrics = plugin.getMetrics();
+        metrics.printersProcessed.add(processed);
+        metrics.printersRemoved.add(removed);
+        metrics.printerCount.set(plugin.getPrinterData().getPrinterCount());
+        metrics.dormantPrinters.set(plugin.getPrinterData().getDormantCount());
+        metrics.moneyMinted.add(minted);
+        metrics.moneyMintedLastCycle.set(minted);
+        metrics.taskSlicesLastCycle.set(cycle.slices);
+        // Time actually spent on a sliced cycle, otherwise the time until it completed
+        metrics.taskDuration.record(cycle.busyNanos > 0 ? cycle.busyNanos : System.nanoTime() - cycle.startTime);
+        return removed;
+    }
+
+    /**
+     * Settle fuel and earnings for a printer that was dormant for the given time in one
+     * step. Gives the same result as running the task over that many cycles, without
+     * notifications. Returns the whole cycles settled; the caller carries the rest over.
+     */
+    public long settle(Location loc, PrinterData.PrinterInfo printer, long elapsedMillis) {
+        long cycles = elapsedMillis / CYCLE_MILLIS;
+        if (cycles <= 0) {
+            return 0;
+        }
+
+        ConfigSnapshot config = plugin.getConfigManager().getSnapshot();
+        double minted = advance(loc, printer, cycles, config, getTicksPerInterval(config), false);
+        plugin.getMetrics().moneyMinted.add(minted);
+        return cycles;
+    }
+
+    /**
+     * Run a printer for a number of cycles in one step, returning the money minted
+     */
+    private double advance(Location loc, PrinterData.PrinterInfo printer, long cycles, ConfigSnapshot config,
+                           int ticksPerInterval, boolean notify) {
+        // Cycles that had fuel to burn
+        long running = cycles;
+        if (config.isFuelEnabled()) {
+            // One locked step, so fuel added from another thread meanwhile is never overwritten
+            running = printer.burnFuel(cycles, CYCLE_SECONDS);
+
+            // Printer ran out of fuel - notify if enabled and not already notified
+            // (but NOT on login - only during active gameplay)
+            if (running < cycles && notify && config.shouldNotifyFuelEmpty() && !printer.hasNotifiedEmpty()) {
+                // Only notify if player is currently online (not on join)
+                if (Bukkit.getPlayer(printer.getOwner()) != null) {
+                    printer.setNotifiedEmpty(true);
+                    Map<String, String> placeholders = createPlaceholders("fuel",
+                            config.getFuelMaterial().name().toLowerCase().replace("_", " "));
+                    notifyPlayer(printer.getOwner(), "fuel-empty-notification", placeholders);
+                }
+            }
+        }
+
+        if (running == 0) {
+            return 0;
+        }
+
+        // Check if printer is at max storage
+        double maxStorage = config.getMaxMoneyStorage();
+        if (printer.getEarnings() >= maxStorage) {
+            if (notify) {
+                notifyFull(printer, config);
+            }
+            // Don't generate more money
+            return 0;
+        }
+
+        // Pay every X ticks based on generation interval
+        long ticks = printer.getFuelTicks() + running;
+        long payouts = ticks / ticksPerInterval;
+        printer.setFuelTicks((int) (ticks % ticksPerInterval));
+        if (payouts == 0) {
+            return 0;
+        }
+
+        // Add earnings based on tier from config
+        double minted = printer.addEarnings(payouts * printer.getEarningsRate(config), maxStorage);
+        plugin.getAuditLog().record(AuditLog.MINT, loc, printer.getOwner(), null, printer.getTier(), minted);
+
+        // Check if just reached max and notify
+        if (notify && printer.getEarnings() >= maxStorage) {
+            notifyFull(printer, config);
+        }
+        return minted;
+    }
+
+    /**
+     * Notify the owner that a printer is full, if enabled and not already notified
+     */
+    private void notifyFull(PrinterData.PrinterInfo printer, ConfigSnapshot config) {
+        if (config.shouldNotifyStorageFull() && !printer.hasNotifiedFull()) {
+            printer.setNotifiedFull(true);
+            notifyPlayer(printer.getOwner(), "storage-full-notification",
+                    createPlaceholders("money", String.format("%.2f", printer.getEarnings())));
+        }
+    }
+
+    /**
+     * Number of task runs per generation interval
+     */
+    private static int getTicksPerInterval(ConfigSnapshot config) {
+        return Math.max(1, (config.getGenerationInterval() * 60) / CYCLE_SECONDS);
     }
 
     /**
      * Notify a player with a message from config
      */
     private void notifyPlayer(java.util.UUID ownerUUID, String messageKey, Map<String, String> placeholders) {
-        OfflinePlayer owner = Bukkit.getOfflinePlayer(ownerUUID);
-        if (owner.isOnline() && owner.getPlayer() != null) {
+        // Online lookup only - never resolve offline players here
+        Player owner = Bukkit.getPlayer(ownerUUID);
+        if (owner != null) {
             String message = plugin.getConfigManager().getMessage(messageKey, placeholders);
-            owner.getPlayer().sendMessage(message);
+            owner.sendMessage(message);
         }
     }
 
@@ -139,4 +393,25 @@ public class PrinterTask extends BukkitRunnable {
         placeholders.put(key, value);
         return placeholders;
     }
-}
\ No newline at end of file
+
+    /**
+     * State of one task cycle, shared by the region threads processing it
+     */
+    private static class Cycle {
+        final long startTime = System.nanoTime();
+        final ConfigSnapshot config;
+        final int ticksPerInterval;
+        final DoubleAdder minted = new DoubleAdder();
+        final LongAdder processed = new LongAdder();
+        final Queue<Location> toRemove = new ConcurrentLinkedQueue<>();
+        // Only used by sliced cycles on Paper
+        long busyNanos;
+        int slices;
+
+        Cycle(ConfigSnapshot config) {
+            this.config = config;
+            // Calculate how many ticks equal one generation interval
+            this.ticksPerInterval = getTicksPerInterval(config);
+        }
+    }
+}
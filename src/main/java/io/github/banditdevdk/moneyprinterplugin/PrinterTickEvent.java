@@ -0,0 +1,40 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering one piece of printer task work done in a single tick: a slice of a
+ * cycle on Paper, or one chunk's batch on its region thread on Folia. A cycle spread over
+ * several ticks shows up as several events, so each lines up with the tick it ran in; the
+ * one that finishes the cycle also covers removing printers and requesting the save.
+ */
+@Name("moneyprinter.PrinterTick")
+@Label("Printer Tick")
+@Category({"Money Printer"})
+@Description("PrinterTask work done in one tick: a slice of a cycle, or a region batch on Folia")
+@StackTrace(false)
+public class PrinterTickEvent extends Event {
+    @Label("Printers")
+    @Description("Printers processed in this slice or batch")
+    int printers;
+
+    @Label("Removed")
+    @Description("Printers removed because their block was gone")
+    int removed;
+
+    @Label("Money Minted")
+    double moneyMinted;
+
+    @Label("Slice")
+    @Description("1-based slice of the cycle on Paper; 0 on Folia")
+    int slice;
+
+    @Label("Cycle Finished")
+    @Description("Whether the cycle finished in this event")
+    boolean cycleFinished;
+}
@@ -0,0 +1,319 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Bus over Redis pub/sub, or anything speaking the same protocol (RESP).
+ *
+ * Uses one connection subscribed to the channel and one for publishing, each on its
+ * own thread, and reconnects after failures. Published messages wait in a bounded
+ * queue so the server thread never blocks on the network; while Redis is unreachable
+ * the queue fills up and further messages are dropped and counted.
+ */
+public class RedisPrinterBus implements PrinterBus {
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final int CONNECT_TIMEOUT_MILLIS = 5000;
+    private static final long RECONNECT_MILLIS = 5000L;
+
+    private final MoneyPrinterPlugin plugin;
+    private final String host;
+    private final int port;
+    private final String password;
+    private final String channel;
+    private final BlockingQueue<String> outbox = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private volatile Consumer<String> listener;
+    private volatile Runnable connectListener;
+    private volatile Consumer<String> dropListener;
+    private volatile boolean running;
+    private volatile Socket subscriberSocket;
+    private Thread subscriber;
+    private Thread publisher;
+
+    public RedisPrinterBus(MoneyPrinterPlugin plugin, String host, int port, String password, String channel) {
+        this.plugin = plugin;
+        this.host = host;
+        this.port = port;
+        this.password = password;
+        this.channel = channel;
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void onConnect(Runnable listener) {
+        this.connectListener = listener;
+    }
+
+    @Override
+    public void onDropped(Consumer<String> listener) {
+        this.dropListener = listener;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        subscriber = new Thread(this::subscribeLoop, "MoneyPrinter-RedisSubscriber");
+        subscriber.setDaemon(true);
+        subscriber.start();
+        publisher = new Thread(this::publishLoop, "MoneyPrinter-RedisPublisher");
+        publisher.setDaemon(true);
+        publisher.start();
+    }
+
+    @Override
+    public void publish(String message) {
+        if (!outbox.offer(message)) {
+            dropped(message);
+        }
+    }
+
+    private void dropped(String message) {
+        plugin.getMetrics().syncMessagesDropped.increment();
+        Consumer<String> current = dropListener;
+        if (current != null) {
+            current.accept(message);
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        Socket socket = subscriberSocket;
+        if (socket != null) {
+            try {
+                socket.close(); // Wakes up the subscriber thread
+            } catch (IOException e) {
+                // Nothing to do while shutting down
+            }
+        }
+        try {
+            if (publisher != null) {
+                publisher.join(2000L);
+            }
+            if (subscriber != null) {
+                subscriber.join(1000L);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void subscribeLoop() {
+        boolean connected = false;
+        while (running) {
+            try (Socket socket = connect()) {
+                subscriberSocket = socket;
+                InputStream in = new BufferedInputStream(socket.getInputStream());
+                OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+                writeCommand(out, "SUBSCRIBE", channel);
+                readReply(in); // Subscription confirmation
+                if (!connected) {
+                    plugin.getLogger().info("Subscribed to Redis channel " + channel + " at " + host + ":" + port);
+                    connected = true;
+                }
+                // Also after a reconnect, since messages sent meanwhile were missed
+                Runnable onConnect = connectListener;
+                if (onConnect != null) {
+                    onConnect.run();
+                }
+
+                while (running) {
+                    Object reply = readReply(in);
+                    if (reply instanceof List && ((List<?>) reply).size() == 3
+                            && "message".equals(((List<?>) reply).get(0))) {
+                        Consumer<String> current = listener;
+                        if (current != null) {
+                            current.accept((String) ((List<?>) reply).get(2));
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                if (!running) {
+                    break;
+                }
+                if (connected) {
+                    plugin.getLogger().warning("Lost Redis subscription (" + e.getMessage() + "), reconnecting...");
+                    connected = false;
+                }
+                sleepBeforeReconnect();
+            } finally {
+                subscriberSocket = null;
+            }
+        }
+    }
+
+    private void publishLoop() {
+        Socket socket = null;
+        InputStream in = null;
+        OutputStream out = null;
+        // Keep draining after close so the last messages (like the bye) still go out
+        while (running || !outbox.isEmpty()) {
+            String message;
+            try {
+                message = outbox.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                break;
+            }
+            if (message == null) {
+                continue;
+            }
+
+            try {
+                if (socket == null) {
+                    socket = connect();
+                    in = new BufferedInputStream(socket.getInputStream());
+                    out = new BufferedOutputStream(socket.getOutputStream());
+                }
+                writeCommand(out, "PUBLISH", channel, message);
+                readReply(in);
+            } catch (IOException e) {
+                dropped(message);
+                closeQuietly(socket);
+                socket = null;
+                if (!running) {
+                    break;
+                }
+                plugin.getLogger().warning("Could not publish to Redis (" + e.getMessage() + ")");
+                sleepBeforeReconnect();
+            }
+        }
+        closeQuietly(socket);
+    }
+
+    /**
+     * Open and authenticate a connection
+     */
+    private Socket connect() throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MILLIS);
+            socket.setTcpNoDelay(true);
+            if (password != null && !password.isEmpty()) {
+                OutputStream out = socket.getOutputStream();
+                writeCommand(out, "AUTH", password);
+                // Unbuffered, so no bytes meant for the caller's stream are read ahead
+                readReply(socket.getInputStream());
+            }
+            return socket;
+        } catch (IOException e) {
+            closeQuietly(socket);
+            throw e;
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(RECONNECT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Already broken
+            }
+        }
+    }
+
+    /**
+     * Write a command as a RESP array of bulk strings
+     */
+    static void writeCommand(OutputStream out, String... args) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        buffer.write(('*' + Integer.toString(args.length) + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        for (String arg : args) {
+            byte[] bytes = arg.getBytes(StandardCharsets.UTF_8);
+            buffer.write(('$' + Integer.toString(bytes.length) + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            buffer.write(bytes);
+            buffer.write('\r');
+            buffer.write('\n');
+        }
+        buffer.writeTo(out);
+        out.flush();
+    }
+
+    /**
+     * Read one RESP reply: a String, Long, null or List. Error replies are thrown.
+     */
+    static Object readReply(InputStream in) throws IOException {
+        int type = in.read();
+        if (type < 0) {
+            throw new EOFException("connection closed");
+        }
+        String line = readLine(in);
+        switch (type) {
+            case '+':
+                return line;
+            case '-':
+                throw new IOException("Redis error: " + line);
+            case ':':
+                return Long.parseLong(line);
+            case '$': {
+                int length = Integer.parseInt(line);
+                if (length < 0) {
+                    return null;
+                }
+                byte[] bytes = new byte[length];
+                int read = 0;
+                while (read < length) {
+                    int count = in.read(bytes, read, length - read);
+                    if (count < 0) {
+                        throw new EOFException("connection closed");
+                    }
+                    read += count;
+                }
+                readLine(in); // Trailing CRLF
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+            case '*': {
+                int count = Integer.parseInt(line);
+                if (count < 0) {
+                    return null;
+                }
+                List<Object> elements = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    elements.add(readReply(in));
+                }
+                return elements;
+            }
+            default:
+                throw new IOException("Unexpected RESP reply type: " + (char) type);
+        }
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != '\r') {
+            if (c < 0) {
+                throw new EOFException("connection closed");
+            }
+            line.append((char) c);
+        }
+        in.read(); // '\n'
+        return line.toString();
+    }
+}
@@ -0,0 +1,144 @@
+package io.github.banditdevdk.moneyprinterplugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.zip.CRC32;
+
+/**
+ * Reads and writes printer shard files crash-safely.
+ *
+ * A shard is a YAML document preceded by a header comment holding the size and CRC32 of
+ * the body, so a truncated or corrupted file is detected instead of silently losing
+ * printers. Writes go to a temp file that is fsynced and then atomically renamed over
+ * the old file, so a crash leaves either the old or the new shard, never a partial one.
+ * Other data files that must survive a crash (leaderboards.yml, names.yml) use the same
+ * format.
+ */
+final class ShardFile {
+    static final String TEMP_SUFFIX = ".tmp";
+    private static final String HEADER = "# moneyprinter-shard size=";
+    private static final String CRC = " crc32=";
+
+    private ShardFile() {
+    }
+
+    /**
+     * Read a shard's body, throwing an IOException if its header or checksum don't match
+     */
+    static String read(File file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        int newline = indexOf(bytes, (byte) '\n');
+        if (newline < 0) {
+            throw new IOException("missing shard header");
+        }
+
+        String header = new String(bytes, 0, newline, StandardCharsets.UTF_8).trim();
+        int crcStart = header.indexOf(CRC);
+        if (!header.startsWith(HEADER) || crcStart < 0) {
+            throw new IOException("missing shard header");
+        }
+
+        int size;
+        long expected;
+        try {
+            size = Integer.parseInt(header.substring(HEADER.length(), crcStart));
+            expected = Long.parseLong(header.substring(crcStart + CRC.length()), 16);
+        } catch (NumberFormatException e) {
+            throw new IOException("invalid shard header: " + header);
+        }
+
+        int bodyStart = newline + 1;
+        int bodySize = bytes.length - bodyStart;
+        if (bodySize != size) {
+            throw new IOException("shard is " + bodySize + " bytes, expected " + size + " (truncated?)");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, bodyStart, bodySize);
+        if (crc.getValue() != expected) {
+            throw new IOException("shard checksum mismatch");
+        }
+        return new String(bytes, bodyStart, bodySize, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Read a file that older versions wrote as plain YAML: checked like a shard if it has
+     * a header, returned as is if it has none
+     */
+    static String readAllowingLegacy(File file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        String content = new String(bytes, StandardCharsets.UTF_8);
+        return content.startsWith(HEADER) ? read(file) : content;
+    }
+
+    /**
+     * Keep a copy of an unreadable file next to it, returning the copy. Copies are
+     * timestamped, so a file that breaks again never replaces an older copy.
+     */
+    static File backupBroken(File file) throws IOException {
+        File backup = new File(file.getParentFile(), file.getName() + "."
+                + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".broken");
+        Files.copy(file.toPath(), backup.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return backup;
+    }
+
+    /**
+     * Write a shard through a temp file, fsync and atomic rename, returning the bytes written
+     */
+    static long write(File file, String body) throws IOException {
+        byte[] data = body.getBytes(StandardCharsets.UTF_8);
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        byte[] header = (HEADER + data.length + CRC + String.format("%08x", crc.getValue()) + "\n")
+                .getBytes(StandardCharsets.UTF_8);
+
+        Path target = file.toPath();
+        Path temp = target.resolveSibling(file.getName() + TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(header.length + data.length);
+            buffer.put(header).put(data).flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        syncDirectory(target.getParent());
+        return header.length + data.length;
+    }
+
+    /**
+     * Flush a directory so a rename survives a power loss. Not possible on every platform.
+     */
+    static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories can't be opened on Windows; the rename is still atomic there
+        }
+    }
+
+    private static int indexOf(byte[] bytes, byte value) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}